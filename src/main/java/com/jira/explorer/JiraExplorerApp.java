@@ -14,12 +14,14 @@ import org.slf4j.LoggerFactory;
 public class JiraExplorerApp extends Application {
     private static final Logger logger = LoggerFactory.getLogger(JiraExplorerApp.class);
 
+    private MainViewController controller;
+
     @Override
     public void start(Stage primaryStage) {
         try {
             logger.info("Starting Jira JQL Explorer application");
 
-            MainViewController controller = new MainViewController();
+            controller = new MainViewController();
             Scene scene = new Scene(controller.getRoot(), 1200, 800);
 
             // Add CSS styling
@@ -41,6 +43,9 @@ public class JiraExplorerApp extends Application {
     @Override
     public void stop() {
         logger.info("Stopping Jira JQL Explorer application");
+        if (controller != null) {
+            controller.shutdown();
+        }
     }
 
     public static void main(String[] args) {
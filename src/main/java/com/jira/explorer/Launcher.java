@@ -0,0 +1,20 @@
+package com.jira.explorer;
+
+import com.jira.explorer.batch.BatchRunner;
+
+import java.util.Arrays;
+
+/**
+ * Entry point of the packaged jar
+ * Does not extend Application, so batch runs start without the JavaFX toolkit (no display needed)
+ * and the shaded jar starts without a module path.
+ */
+public class Launcher {
+
+    public static void main(String[] args) {
+        if (Arrays.asList(args).contains("--batch")) {
+            System.exit(BatchRunner.run(args));
+        }
+        JiraExplorerApp.main(args);
+    }
+}
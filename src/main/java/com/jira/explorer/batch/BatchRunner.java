@@ -0,0 +1,388 @@
+package com.jira.explorer.batch;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.jira.explorer.metrics.FlowMetrics;
+import com.jira.explorer.metrics.FlowMetricsEngine;
+import com.jira.explorer.metrics.Workflow;
+import com.jira.explorer.model.JiraConfig;
+import com.jira.explorer.model.JiraIssue;
+import com.jira.explorer.model.SearchQuery;
+import com.jira.explorer.service.BatchQueryExecutor;
+import com.jira.explorer.service.ChangelogFetcher;
+import com.jira.explorer.service.ClientMetrics;
+import com.jira.explorer.service.IssueExporter;
+import com.jira.explorer.service.JiraApiClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Headless runner for a file of named JQL queries, e.g. from cron
+ * Every query is exported to its own file in the output directory, optionally with a flow metrics
+ * report, and a summary.json records issue counts, timings and client metrics. All queries share
+ * one client, so its connection pool and rate limiter, and several run at once.
+ *
+ * Exit status: 0 when every query succeeded, 1 when some failed, 2 on a usage or configuration error.
+ */
+public class BatchRunner {
+    private static final Logger logger = LoggerFactory.getLogger(BatchRunner.class);
+
+    public static final int EXIT_OK = 0;
+    public static final int EXIT_FAILED = 1;
+    public static final int EXIT_USAGE = 2;
+
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: java -jar jira-jql-explorer.jar --batch <queries file> [options]",
+            "  --config <file>       jira.* properties, applied over jira.properties from the classpath",
+            "  --out <dir>           output directory (default: batch-output)",
+            "  --format csv|ndjson   export format (default: ndjson)",
+            "  --parallel <n>        queries run at once (default: 2)",
+            "  --flow-metrics        also write a flow metrics report per query, from the exported issues",
+            "                        searched with their changelogs",
+            "  --dedupe              download issues shared by several queries only once",
+            "  --count               only count the issues of each query, nothing is downloaded",
+            "Queries file: one 'name = JQL' per line, '#' starts a comment");
+
+    private final JiraApiClient client;
+    private final Path outputDir;
+    private final IssueExporter.Format format;
+    private final int parallelism;
+    private final boolean flowMetrics;
+    private final boolean dedupe;
+    private final boolean countOnly;
+
+    /**
+     * @param dedupe resolve every query to keys first and download their union once, holding the
+     *               issues in memory, instead of streaming each query to its file
+     * @param countOnly record the number of matching issues per query instead of exporting them
+     */
+    public BatchRunner(JiraApiClient client, Path outputDir, IssueExporter.Format format, int parallelism,
+                       boolean flowMetrics, boolean dedupe, boolean countOnly) {
+        this.client = client;
+        this.outputDir = outputDir;
+        this.format = format;
+        this.parallelism = Math.max(1, parallelism);
+        this.flowMetrics = flowMetrics;
+        this.dedupe = dedupe;
+        this.countOnly = countOnly;
+    }
+
+    /**
+     * Parse the command line, run the batch and return the exit status
+     */
+    public static int run(String[] args) {
+        Path queriesFile = null;
+        Path configFile = null;
+        Path outputDir = Paths.get("batch-output");
+        IssueExporter.Format format = IssueExporter.Format.NDJSON;
+        int parallelism = 2;
+        boolean flowMetrics = false;
+        boolean dedupe = false;
+        boolean countOnly = false;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--batch" -> queriesFile = Paths.get(value(args, ++i));
+                    case "--config" -> configFile = Paths.get(value(args, ++i));
+                    case "--out" -> outputDir = Paths.get(value(args, ++i));
+                    case "--format" -> format = IssueExporter.Format.valueOf(value(args, ++i).toUpperCase(Locale.ROOT));
+                    case "--parallel" -> parallelism = Integer.parseInt(value(args, ++i));
+                    case "--flow-metrics" -> flowMetrics = true;
+                    case "--dedupe" -> dedupe = true;
+                    case "--count" -> countOnly = true;
+                    default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return EXIT_USAGE;
+        }
+
+        Map<String, String> queries;
+        JiraConfig config = new JiraConfig();
+        try {
+            queries = readQueries(queriesFile);
+            if (configFile != null) {
+                Properties props = new Properties();
+                try (Reader reader = Files.newBufferedReader(configFile, StandardCharsets.UTF_8)) {
+                    props.load(reader);
+                }
+                config.applyProperties(props);
+            }
+            if (!config.isValid()) {
+                throw new IllegalArgumentException("Jira URL, username and API token must be configured");
+            }
+            Files.createDirectories(outputDir);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            return EXIT_USAGE;
+        } catch (IOException e) {
+            System.err.println("I/O error: " + e);
+            return EXIT_USAGE;
+        }
+
+        JiraApiClient client = new JiraApiClient(config);
+        try {
+            return new BatchRunner(client, outputDir, format, parallelism, flowMetrics, dedupe, countOnly).execute(queries);
+        } finally {
+            client.close();
+        }
+    }
+
+    /**
+     * Run the queries and write the summary
+     *
+     * @return {@link #EXIT_OK} or {@link #EXIT_FAILED}
+     */
+    public int execute(Map<String, String> queries) {
+        long start = System.currentTimeMillis();
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, queries.size())), runnable -> {
+            Thread thread = new Thread(runnable, "batch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ChangelogFetcher fetcher = flowMetrics ? new ChangelogFetcher(client, List.of("status")) : null;
+        Workflow workflow = null;
+        if (flowMetrics) {
+            try {
+                workflow = Workflow.fromStatusCategories(client.getStatusCategories());
+            } catch (IOException e) {
+                logger.warn("Status categories unavailable, classifying statuses by name: {}", e.getMessage());
+                workflow = new Workflow();
+            }
+        }
+
+        BatchQueryExecutor.Result shared = null;
+        String dedupeFallback = null;
+        if (dedupe && !countOnly) {
+            try {
+                // With flow metrics the changelogs come along, so the shared download serves both
+                SearchQuery template = flowMetrics ? FlowMetricsEngine.withHistory(client.query("")) : client.query("");
+                shared = new BatchQueryExecutor(client, template).execute(queries);
+            } catch (IOException e) {
+                // Each query then fails on its own, like without --dedupe
+                logger.error("Shared download failed, running the queries separately", e);
+                dedupeFallback = String.valueOf(e.getMessage());
+            }
+        }
+
+        Map<String, Future<JsonObject>> results = new LinkedHashMap<>();
+        Workflow queryWorkflow = workflow;
+        BatchQueryExecutor.Result prefetched = shared;
+        queries.forEach((name, jql) -> results.put(name, workers.submit(() ->
+                runQuery(name, jql, prefetched != null ? prefetched.getIssues(name) : null, fetcher, queryWorkflow))));
+
+        JsonArray summaries = new JsonArray();
+        int failed = 0;
+        for (Map.Entry<String, Future<JsonObject>> entry : results.entrySet()) {
+            JsonObject summary;
+            try {
+                summary = entry.getValue().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                workers.shutdownNow();
+                summary = failure(entry.getKey(), queries.get(entry.getKey()), e);
+            } catch (ExecutionException e) {
+                summary = failure(entry.getKey(), queries.get(entry.getKey()), e.getCause());
+            }
+            if (!"ok".equals(summary.get("status").getAsString())) {
+                failed++;
+            }
+            summaries.add(summary);
+        }
+        workers.shutdown();
+        if (fetcher != null) {
+            fetcher.close();
+        }
+
+        long duration = System.currentTimeMillis() - start;
+        JsonObject run = new JsonObject();
+        run.addProperty("startedAt", Instant.ofEpochMilli(start).toString());
+        run.addProperty("durationMs", duration);
+        run.addProperty("queries", queries.size());
+        run.addProperty("failed", failed);
+        if (shared != null) {
+            run.addProperty("dedupe", "shared");
+            run.addProperty("matchedIssues", shared.getReferences());
+            run.addProperty("distinctIssues", shared.getDistinct());
+        } else if (dedupeFallback != null) {
+            run.addProperty("dedupe", "fallback");
+            run.addProperty("dedupeError", dedupeFallback);
+        }
+        run.add("results", summaries);
+        run.add("client", clientMetrics(client.getMetrics()));
+        try (Writer writer = Files.newBufferedWriter(outputDir.resolve("summary.json"), StandardCharsets.UTF_8)) {
+            new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create().toJson(run, writer);
+        } catch (IOException e) {
+            logger.error("Failed to write the batch summary", e);
+            failed++;
+        }
+        logger.info("Batch finished in {} ms: {} queries, {} failed | {}", duration, queries.size(), failed,
+                client.getMetrics().summary());
+        return failed == 0 ? EXIT_OK : EXIT_FAILED;
+    }
+
+    /**
+     * @param prefetched the query's issues when already downloaded, null to stream them from Jira
+     */
+    private JsonObject runQuery(String name, String jql, List<JiraIssue> prefetched, ChangelogFetcher fetcher,
+                                Workflow workflow) {
+        long start = System.nanoTime();
+        if (countOnly) {
+            return countQuery(name, jql, start);
+        }
+        try {
+            Path file = outputDir.resolve(fileName(name) + (format == IssueExporter.Format.CSV ? ".csv" : ".ndjson"));
+            SearchQuery query = client.query(jql);
+            FlowMetricsEngine engine = fetcher != null ? new FlowMetricsEngine(workflow) : null;
+            long issues;
+            if (prefetched != null) {
+                issues = IssueExporter.export(client, query, prefetched, file, format);
+                if (engine != null) {
+                    engine.acceptPage(prefetched, fetcher);
+                }
+            } else if (engine != null) {
+                // The exported pages carry their changelogs and are folded as they go, one download for both
+                issues = IssueExporter.export(client, query, FlowMetricsEngine.withHistory(query), file, format,
+                        written -> { }, page -> {
+                            try {
+                                engine.acceptPage(page, fetcher);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+            } else {
+                issues = IssueExporter.export(client, query, file, format, written -> { });
+            }
+            JsonObject summary = new JsonObject();
+            summary.addProperty("name", name);
+            summary.addProperty("jql", jql);
+            summary.addProperty("status", "ok");
+            summary.addProperty("issues", issues);
+            summary.addProperty("file", file.getFileName().toString());
+            if (engine != null) {
+                FlowMetrics metrics = engine.finish(fetcher);
+                Path report = outputDir.resolve(fileName(name) + ".flow.txt");
+                Files.writeString(report, metrics.toReport(), StandardCharsets.UTF_8);
+                summary.addProperty("completed", metrics.getCompleted());
+                summary.addProperty("leadTimeP85Days", metrics.getLeadTime().getP85Days());
+                summary.addProperty("cycleTimeP85Days", metrics.getCycleTime().getP85Days());
+                summary.addProperty("flowReport", report.getFileName().toString());
+            }
+            summary.addProperty("durationMs", (System.nanoTime() - start) / 1_000_000);
+            logger.info("{}: {} issues in {} ms", name, issues, (System.nanoTime() - start) / 1_000_000);
+            return summary;
+        } catch (Exception e) {
+            logger.error("{} failed", name, e);
+            JsonObject summary = failure(name, jql, e);
+            summary.addProperty("durationMs", (System.nanoTime() - start) / 1_000_000);
+            return summary;
+        }
+    }
+
+    private JsonObject countQuery(String name, String jql, long start) {
+        try {
+            long count = client.count(jql);
+            JsonObject summary = new JsonObject();
+            summary.addProperty("name", name);
+            summary.addProperty("jql", jql);
+            summary.addProperty("status", "ok");
+            summary.addProperty("count", count);
+            summary.addProperty("durationMs", (System.nanoTime() - start) / 1_000_000);
+            logger.info("{}: {} issues", name, count);
+            return summary;
+        } catch (Exception e) {
+            logger.error("{} failed", name, e);
+            JsonObject summary = failure(name, jql, e);
+            summary.addProperty("durationMs", (System.nanoTime() - start) / 1_000_000);
+            return summary;
+        }
+    }
+
+    private static JsonObject failure(String name, String jql, Throwable error) {
+        JsonObject summary = new JsonObject();
+        summary.addProperty("name", name);
+        summary.addProperty("jql", jql);
+        summary.addProperty("status", "failed");
+        summary.addProperty("error", String.valueOf(error.getMessage()));
+        return summary;
+    }
+
+    private static JsonObject clientMetrics(ClientMetrics metrics) {
+        JsonObject json = new JsonObject();
+        json.addProperty("requests", metrics.getRequestCount());
+        json.addProperty("errors", metrics.getErrorCount());
+        json.addProperty("bytesRead", metrics.getBytesRead());
+        json.addProperty("issuesParsed", metrics.getIssuesParsed());
+        json.addProperty("throttledResponses", metrics.getThrottledResponses());
+        json.addProperty("retries", metrics.getRetries());
+        JsonObject latencies = new JsonObject();
+        metrics.getEndpointLatencies().forEach(latencies::addProperty);
+        json.add("endpointLatencies", latencies);
+        return json;
+    }
+
+    /**
+     * Read 'name = JQL' lines in file order; the JQL may itself contain '='
+     */
+    static Map<String, String> readQueries(Path file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("Missing --batch <queries file>");
+        }
+        Map<String, String> queries = new LinkedHashMap<>();
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int separator = line.indexOf('=');
+            String name = separator > 0 ? line.substring(0, separator).trim() : "";
+            String jql = separator > 0 ? line.substring(separator + 1).trim() : "";
+            if (name.isEmpty() || jql.isEmpty()) {
+                throw new IllegalArgumentException(file + ":" + (i + 1) + ": expected 'name = JQL'");
+            }
+            if (queries.put(name, jql) != null) {
+                throw new IllegalArgumentException(file + ":" + (i + 1) + ": duplicate query name " + name);
+            }
+        }
+        if (queries.isEmpty()) {
+            throw new IllegalArgumentException(file + ": no queries");
+        }
+        return queries;
+    }
+
+    private static String fileName(String name) {
+        return name.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+}
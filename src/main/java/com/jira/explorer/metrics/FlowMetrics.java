@@ -0,0 +1,193 @@
+package com.jira.explorer.metrics;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Immutable snapshot of the flow metrics computed so far
+ * Durations are reported in days.
+ */
+public class FlowMetrics {
+    private static final double MILLIS_PER_DAY = 86_400_000.0;
+
+    /**
+     * Summary of a set of durations
+     */
+    public static class Distribution {
+        private final int count;
+        private final double mean;
+        private final double p50;
+        private final double p85;
+        private final double p95;
+        private final double max;
+
+        Distribution(long[] millis) {
+            long[] sorted = millis.clone();
+            Arrays.sort(sorted);
+            this.count = sorted.length;
+            this.mean = count == 0 ? 0 : Arrays.stream(sorted).average().orElse(0) / MILLIS_PER_DAY;
+            this.p50 = percentile(sorted, 0.50);
+            this.p85 = percentile(sorted, 0.85);
+            this.p95 = percentile(sorted, 0.95);
+            this.max = count == 0 ? 0 : sorted[count - 1] / MILLIS_PER_DAY;
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / MILLIS_PER_DAY;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public double getMeanDays() {
+            return mean;
+        }
+
+        public double getP50Days() {
+            return p50;
+        }
+
+        public double getP85Days() {
+            return p85;
+        }
+
+        public double getP95Days() {
+            return p95;
+        }
+
+        public double getMaxDays() {
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "n=%d mean=%.1fd p50=%.1fd p85=%.1fd p95=%.1fd max=%.1fd",
+                    count, mean, p50, p85, p95, max);
+        }
+    }
+
+    /**
+     * Time spent in one status across all issues
+     */
+    public static class StatusTime {
+        private final long totalMillis;
+        private final long visits;
+
+        StatusTime(long totalMillis, long visits) {
+            this.totalMillis = totalMillis;
+            this.visits = visits;
+        }
+
+        public double getTotalDays() {
+            return totalMillis / MILLIS_PER_DAY;
+        }
+
+        public long getVisits() {
+            return visits;
+        }
+
+        public double getMeanDaysPerVisit() {
+            return visits == 0 ? 0 : totalMillis / MILLIS_PER_DAY / visits;
+        }
+    }
+
+    private final long issues;
+    private final long completed;
+    private final Distribution leadTime;
+    private final Distribution cycleTime;
+    private final SortedMap<LocalDate, Integer> weeklyThroughput;
+    private final SortedMap<LocalDate, Integer> dailyWip;
+    private final Map<String, StatusTime> timeInStatus;
+
+    FlowMetrics(long issues, long completed, Distribution leadTime, Distribution cycleTime,
+                SortedMap<LocalDate, Integer> weeklyThroughput, SortedMap<LocalDate, Integer> dailyWip,
+                Map<String, StatusTime> timeInStatus) {
+        this.issues = issues;
+        this.completed = completed;
+        this.leadTime = leadTime;
+        this.cycleTime = cycleTime;
+        this.weeklyThroughput = Collections.unmodifiableSortedMap(weeklyThroughput);
+        this.dailyWip = Collections.unmodifiableSortedMap(dailyWip);
+        this.timeInStatus = Collections.unmodifiableMap(timeInStatus);
+    }
+
+    public long getIssues() {
+        return issues;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    /**
+     * Creation to completion of completed issues
+     */
+    public Distribution getLeadTime() {
+        return leadTime;
+    }
+
+    /**
+     * First start of work to completion of completed issues
+     */
+    public Distribution getCycleTime() {
+        return cycleTime;
+    }
+
+    /**
+     * Completed issues per week, keyed by the Monday starting the week
+     */
+    public SortedMap<LocalDate, Integer> getWeeklyThroughput() {
+        return weeklyThroughput;
+    }
+
+    /**
+     * Issues in progress at the end of each day
+     */
+    public SortedMap<LocalDate, Integer> getDailyWip() {
+        return dailyWip;
+    }
+
+    /**
+     * Time spent per status, ordered by total time descending
+     */
+    public Map<String, StatusTime> getTimeInStatus() {
+        return timeInStatus;
+    }
+
+    /**
+     * Plain text report of every metric
+     */
+    public String toReport() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.ROOT, "Issues: %d, completed: %d%n", issues, completed));
+        report.append("Lead time:  ").append(leadTime).append(System.lineSeparator());
+        report.append("Cycle time: ").append(cycleTime).append(System.lineSeparator());
+
+        report.append(System.lineSeparator()).append("Weekly throughput").append(System.lineSeparator());
+        weeklyThroughput.forEach((week, count) ->
+                report.append(String.format(Locale.ROOT, "  %s  %d%n", week, count)));
+
+        report.append(System.lineSeparator()).append("WIP (weekly samples)").append(System.lineSeparator());
+        dailyWip.forEach((day, wip) -> {
+            if (day.getDayOfWeek() == DayOfWeek.SUNDAY || day.equals(dailyWip.lastKey())) {
+                report.append(String.format(Locale.ROOT, "  %s  %d%n", day, wip));
+            }
+        });
+
+        report.append(System.lineSeparator()).append("Time in status").append(System.lineSeparator());
+        timeInStatus.forEach((status, time) -> report.append(String.format(Locale.ROOT,
+                "  %-24s total %.1fd, %d visits, mean %.1fd%n",
+                status, time.getTotalDays(), time.getVisits(), time.getMeanDaysPerVisit())));
+        return report.toString();
+    }
+}
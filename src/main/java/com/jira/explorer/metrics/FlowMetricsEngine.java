@@ -0,0 +1,307 @@
+package com.jira.explorer.metrics;
+
+import com.google.gson.JsonArray;
+import com.jira.explorer.model.JiraDates;
+import com.jira.explorer.model.JiraIssue;
+import com.jira.explorer.model.SearchQuery;
+import com.jira.explorer.service.ChangelogFetcher;
+import com.jira.explorer.service.JiraApiClient;
+import com.jira.explorer.service.SearchPager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Single-pass flow metrics over issue status histories
+ * Each issue is folded into shared accumulators as soon as it is seen (lead and cycle time samples,
+ * completions per week, WIP deltas per day, time per status) and then dropped, so a report over
+ * tens of thousands of issues never holds them all. {@link #accept} is thread-safe and
+ * {@link #snapshot} can be taken at any time while issues are still arriving.
+ */
+public class FlowMetricsEngine {
+    private static final Logger logger = LoggerFactory.getLogger(FlowMetricsEngine.class);
+
+    /** Fields needed from the search besides the changelog */
+    public static final List<String> HISTORY_FIELDS = List.of("status", "created", "updated", "resolutiondate");
+
+    private final Workflow workflow;
+    private final ZoneId zone;
+    private final long asOf;
+
+    private final LongAdder issues = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final Samples leadTimes = new Samples();
+    private final Samples cycleTimes = new Samples();
+    private final Map<LocalDate, LongAdder> throughput = new ConcurrentHashMap<>();
+    private final Map<LocalDate, LongAdder> wipDeltas = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> statusMillis = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> statusVisits = new ConcurrentHashMap<>();
+    // Issues waiting for their full changelog
+    private final List<JiraIssue> truncated = new ArrayList<>();
+
+    public FlowMetricsEngine(Workflow workflow) {
+        this(workflow, ZoneId.systemDefault(), System.currentTimeMillis());
+    }
+
+    /**
+     * @param zone time zone used to bucket days and weeks
+     * @param asOf end of open intervals (issues still in a status), in epoch milliseconds
+     */
+    public FlowMetricsEngine(Workflow workflow, ZoneId zone, long asOf) {
+        this.workflow = workflow;
+        this.zone = zone;
+        this.asOf = asOf;
+    }
+
+    /**
+     * Search the query with expanded changelogs and fold every issue into the metrics
+     * Pages are consumed as they arrive. Issues whose embedded changelog is truncated are set aside
+     * and their full changelogs fetched together through the fetcher, a bulk request's worth at a
+     * time, so memory stays bounded by that batch and a page.
+     */
+    public FlowMetrics compute(JiraApiClient client, ChangelogFetcher fetcher, SearchQuery query) throws IOException {
+        SearchQuery historyQuery = query.withFields(HISTORY_FIELDS).withExpand("changelog");
+        try (SearchPager pager = client.pages(historyQuery)) {
+            while (pager.hasNext()) {
+                acceptPage(pager.next().getIssues(), fetcher);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return finish(fetcher);
+    }
+
+    /**
+     * The query extended with what the histories need, for callers that search and fold pages themselves
+     * Explicit fields get the history fields added and the changelog is expanded; wildcard and
+     * default field sets already include them.
+     */
+    public static SearchQuery withHistory(SearchQuery query) {
+        SearchQuery result = query;
+        List<String> fields = query.getFields();
+        if (fields != null && fields.stream().noneMatch(field -> field.startsWith("*"))
+                && fields.stream().anyMatch(field -> !field.startsWith("-"))) {
+            Set<String> merged = new LinkedHashSet<>(fields);
+            merged.addAll(HISTORY_FIELDS);
+            result = result.withFields(new ArrayList<>(merged));
+        }
+        if (!query.hasExpand()) {
+            result = result.withExpand("changelog");
+        } else if (!Arrays.asList(query.getExpand().split(",")).contains("changelog")) {
+            result = result.withExpand(query.getExpand() + ",changelog");
+        }
+        return result;
+    }
+
+    /**
+     * Fold a page of issues searched with their changelog, see {@link #withHistory}
+     * Issues with a truncated changelog are held back until a bulk request's worth is pending;
+     * call {@link #finish} after the last page.
+     */
+    public void acceptPage(List<JiraIssue> page, ChangelogFetcher fetcher) throws IOException {
+        List<IssueHistory> complete = new ArrayList<>();
+        List<JiraIssue> batch = null;
+        synchronized (truncated) {
+            for (JiraIssue issue : page) {
+                if (IssueHistory.isTruncated(issue)) {
+                    truncated.add(issue);
+                } else {
+                    complete.add(IssueHistory.of(issue));
+                }
+            }
+            if (truncated.size() >= JiraApiClient.BULK_CHANGELOG_ISSUES) {
+                batch = new ArrayList<>(truncated);
+                truncated.clear();
+            }
+        }
+        complete.parallelStream().forEach(this::accept);
+        if (batch != null) {
+            acceptFetched(fetcher, batch);
+        }
+    }
+
+    /**
+     * Fetch the changelogs still held back and return the metrics
+     */
+    public FlowMetrics finish(ChangelogFetcher fetcher) throws IOException {
+        List<JiraIssue> batch;
+        synchronized (truncated) {
+            batch = new ArrayList<>(truncated);
+            truncated.clear();
+        }
+        acceptFetched(fetcher, batch);
+        logger.info("Computed flow metrics over {} issues", issues.sum());
+        return snapshot();
+    }
+
+    private void acceptFetched(ChangelogFetcher fetcher, List<JiraIssue> issues) throws IOException {
+        if (issues.isEmpty()) {
+            return;
+        }
+        Map<String, JsonArray> changelogs = fetcher.fetch(issues);
+        issues.parallelStream().forEach(issue ->
+                accept(IssueHistory.of(issue, changelogs.getOrDefault(issue.getKey(), new JsonArray()))));
+    }
+
+    /**
+     * Fold one issue history into the metrics
+     */
+    public void accept(IssueHistory history) {
+        long created = history.getCreated();
+        if (created == JiraDates.MISSING) {
+            return;
+        }
+        issues.increment();
+
+        List<StatusChange> changes = history.getChanges();
+        String status = changes.isEmpty() ? history.getCurrentStatus() : changes.get(0).getFrom();
+        Workflow.Stage stage = workflow.stageOf(status);
+        long segmentStart = created;
+        long firstStarted = stage == Workflow.Stage.IN_PROGRESS ? created : JiraDates.MISSING;
+        long wipStart = firstStarted;
+        long completedAt = JiraDates.MISSING;
+
+        for (StatusChange change : changes) {
+            long at = Math.max(change.getAt(), segmentStart);
+            addStatusTime(status, at - segmentStart);
+            Workflow.Stage next = workflow.stageOf(change.getTo());
+            if (next == Workflow.Stage.IN_PROGRESS && stage != Workflow.Stage.IN_PROGRESS) {
+                wipStart = at;
+                if (firstStarted == JiraDates.MISSING) {
+                    firstStarted = at;
+                }
+            } else if (stage == Workflow.Stage.IN_PROGRESS && next != Workflow.Stage.IN_PROGRESS) {
+                addWip(wipStart, at);
+                wipStart = JiraDates.MISSING;
+            }
+            if (next == Workflow.Stage.DONE && stage != Workflow.Stage.DONE) {
+                completedAt = at;
+            } else if (stage == Workflow.Stage.DONE && next != Workflow.Stage.DONE) {
+                // Reopened, only the final completion counts
+                completedAt = JiraDates.MISSING;
+            }
+            status = change.getTo();
+            stage = next;
+            segmentStart = at;
+        }
+
+        if (stage != Workflow.Stage.DONE) {
+            // The open segment runs until now; time spent in a final done status is not work
+            addStatusTime(status, Math.max(0, asOf - segmentStart));
+        }
+        if (wipStart != JiraDates.MISSING) {
+            addWip(wipStart, JiraDates.MISSING);
+        }
+
+        if (stage == Workflow.Stage.DONE) {
+            if (completedAt == JiraDates.MISSING) {
+                // Created straight into a done status, or no status changes recorded
+                completedAt = history.getResolved() != JiraDates.MISSING ? history.getResolved() : created;
+            }
+            completed.increment();
+            leadTimes.add(completedAt - created);
+            if (firstStarted != JiraDates.MISSING && firstStarted <= completedAt) {
+                cycleTimes.add(completedAt - firstStarted);
+            }
+            LocalDate week = day(completedAt).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            throughput.computeIfAbsent(week, w -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Metrics over every issue accepted so far
+     */
+    public FlowMetrics snapshot() {
+        SortedMap<LocalDate, Integer> weekly = new TreeMap<>();
+        throughput.forEach((week, count) -> weekly.put(week, count.intValue()));
+        if (!weekly.isEmpty()) {
+            // Weeks without completions are part of the series
+            for (LocalDate week = weekly.firstKey(); week.isBefore(weekly.lastKey()); week = week.plusWeeks(1)) {
+                weekly.putIfAbsent(week, 0);
+            }
+        }
+
+        SortedMap<LocalDate, Integer> wip = new TreeMap<>();
+        SortedMap<LocalDate, Long> deltas = new TreeMap<>();
+        wipDeltas.forEach((day, delta) -> deltas.put(day, delta.sum()));
+        if (!deltas.isEmpty()) {
+            LocalDate last = day(asOf);
+            long running = 0;
+            for (LocalDate day = deltas.firstKey(); !day.isAfter(last); day = day.plusDays(1)) {
+                running += deltas.getOrDefault(day, 0L);
+                wip.put(day, (int) running);
+            }
+        }
+
+        Map<String, FlowMetrics.StatusTime> timeInStatus = new LinkedHashMap<>();
+        statusMillis.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()))
+                .forEach(entry -> timeInStatus.put(entry.getKey(), new FlowMetrics.StatusTime(
+                        entry.getValue().sum(), statusVisits.get(entry.getKey()).sum())));
+
+        return new FlowMetrics(issues.sum(), completed.sum(),
+                new FlowMetrics.Distribution(leadTimes.toArray()), new FlowMetrics.Distribution(cycleTimes.toArray()),
+                weekly, wip, timeInStatus);
+    }
+
+    public long getProcessed() {
+        return issues.sum();
+    }
+
+    private void addStatusTime(String status, long millis) {
+        String name = status != null ? status : "(none)";
+        statusMillis.computeIfAbsent(name, s -> new LongAdder()).add(millis);
+        statusVisits.computeIfAbsent(name, s -> new LongAdder()).increment();
+    }
+
+    /**
+     * Count an in-progress interval in the end-of-day WIP of every day it spans; end is MISSING while still open
+     */
+    private void addWip(long start, long end) {
+        wipDeltas.computeIfAbsent(day(start), d -> new LongAdder()).increment();
+        if (end != JiraDates.MISSING) {
+            wipDeltas.computeIfAbsent(day(end), d -> new LongAdder()).decrement();
+        }
+    }
+
+    private LocalDate day(long millis) {
+        return Instant.ofEpochMilli(millis).atZone(zone).toLocalDate();
+    }
+
+    /**
+     * Growable array of duration samples, appended from several threads
+     */
+    private static class Samples {
+        private long[] values = new long[1024];
+        private int size;
+
+        synchronized void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        synchronized long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.jira.explorer.metrics;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.jira.explorer.model.JiraDates;
+import com.jira.explorer.model.JiraIssue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The status history of one issue: creation, resolution, current status and its transitions
+ */
+public class IssueHistory {
+    private final String key;
+    private final long created;
+    private final long resolved;
+    private final String currentStatus;
+    private final List<StatusChange> changes;
+
+    public IssueHistory(String key, long created, long resolved, String currentStatus, List<StatusChange> changes) {
+        this.key = key;
+        this.created = created;
+        this.resolved = resolved;
+        this.currentStatus = currentStatus;
+        List<StatusChange> sorted = new ArrayList<>(changes);
+        Collections.sort(sorted);
+        this.changes = Collections.unmodifiableList(sorted);
+    }
+
+    /**
+     * Build the history from the changelog embedded in the issue
+     */
+    public static IssueHistory of(JiraIssue issue) {
+        JsonObject changelog = issue.getChangelog();
+        JsonArray histories = changelog != null && changelog.has("histories") ? changelog.getAsJsonArray("histories") : new JsonArray();
+        return of(issue, histories);
+    }
+
+    /**
+     * Build the history from a complete list of changelog histories, fetched separately
+     */
+    public static IssueHistory of(JiraIssue issue, JsonArray histories) {
+        List<StatusChange> changes = new ArrayList<>();
+        for (JsonElement historyElement : histories) {
+            JsonObject history = historyElement.getAsJsonObject();
+            long at = timestamp(history.get("created"));
+            JsonArray items = history.getAsJsonArray("items");
+            if (at == JiraDates.MISSING || items == null) {
+                continue;
+            }
+            for (JsonElement itemElement : items) {
+                JsonObject item = itemElement.getAsJsonObject();
+                if ("status".equals(string(item, "field"))) {
+                    changes.add(new StatusChange(at, string(item, "fromString"), string(item, "toString")));
+                }
+            }
+        }
+        JsonObject fields = issue.getFields();
+        return new IssueHistory(issue.getKey(),
+                JiraDates.parse(string(fields, "created")),
+                JiraDates.parse(string(fields, "resolutiondate")),
+                issue.getStatus(), changes);
+    }
+
+    /**
+     * Whether the issue lacks its changelog or carries only part of it, as Cloud searches return at most 40 entries
+     */
+    public static boolean isTruncated(JiraIssue issue) {
+        JsonObject changelog = issue.getChangelog();
+        if (changelog == null || !changelog.has("histories")) {
+            return true;
+        }
+        int histories = changelog.getAsJsonArray("histories").size();
+        return changelog.has("total") && changelog.get("total").getAsInt() > histories;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Creation time in epoch milliseconds, or {@link JiraDates#MISSING}
+     */
+    public long getCreated() {
+        return created;
+    }
+
+    public long getResolved() {
+        return resolved;
+    }
+
+    public String getCurrentStatus() {
+        return currentStatus;
+    }
+
+    /**
+     * Status transitions, oldest first
+     */
+    public List<StatusChange> getChanges() {
+        return changes;
+    }
+
+    /**
+     * History time: a date string, or epoch time as sent by the Cloud bulk changelog endpoint
+     */
+    private static long timestamp(JsonElement value) {
+        if (value == null || !value.isJsonPrimitive()) {
+            return JiraDates.MISSING;
+        }
+        if (value.getAsJsonPrimitive().isNumber()) {
+            long epoch = value.getAsLong();
+            return epoch < 100_000_000_000L ? epoch * 1000 : epoch;
+        }
+        return JiraDates.parse(value.getAsString());
+    }
+
+    private static String string(JsonObject object, String name) {
+        JsonElement value = object != null ? object.get(name) : null;
+        return value != null && value.isJsonPrimitive() ? value.getAsString() : null;
+    }
+}
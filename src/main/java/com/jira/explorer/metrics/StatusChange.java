@@ -0,0 +1,41 @@
+package com.jira.explorer.metrics;
+
+/**
+ * One status transition from an issue changelog
+ */
+public class StatusChange implements Comparable<StatusChange> {
+    private final long at;
+    private final String from;
+    private final String to;
+
+    public StatusChange(long at, String from, String to) {
+        this.at = at;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Time of the transition in epoch milliseconds
+     */
+    public long getAt() {
+        return at;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    @Override
+    public int compareTo(StatusChange other) {
+        return Long.compare(at, other.at);
+    }
+
+    @Override
+    public String toString() {
+        return from + " -> " + to + " @" + at;
+    }
+}
@@ -0,0 +1,68 @@
+package com.jira.explorer.metrics;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Maps status names to the three workflow stages flow metrics are built on
+ * Built from Jira's status categories; statuses Jira did not report (renamed or deleted ones
+ * that still appear in old changelogs) are classified by name.
+ */
+public class Workflow {
+
+    public enum Stage {
+        TO_DO, IN_PROGRESS, DONE
+    }
+
+    private final Map<String, Stage> stages = new HashMap<>();
+
+    /**
+     * @param statusCategories status name to category key ("new", "indeterminate", "done"), as
+     *                         returned by JiraApiClient.getStatusCategories()
+     */
+    public static Workflow fromStatusCategories(Map<String, String> statusCategories) {
+        Workflow workflow = new Workflow();
+        statusCategories.forEach((status, category) -> {
+            Stage stage = switch (category) {
+                case "done" -> Stage.DONE;
+                case "indeterminate" -> Stage.IN_PROGRESS;
+                default -> Stage.TO_DO;
+            };
+            workflow.set(status, stage);
+        });
+        return workflow;
+    }
+
+    /**
+     * Override the stage of a status, e.g. to count "Ready for QA" as not started
+     */
+    public Workflow set(String status, Stage stage) {
+        stages.put(normalize(status), stage);
+        return this;
+    }
+
+    public Stage stageOf(String status) {
+        if (status == null) {
+            return Stage.TO_DO;
+        }
+        Stage stage = stages.get(normalize(status));
+        return stage != null ? stage : guess(normalize(status));
+    }
+
+    private static Stage guess(String status) {
+        if (status.contains("done") || status.contains("closed") || status.contains("resolved")
+                || status.contains("cancel") || status.contains("rejected")) {
+            return Stage.DONE;
+        }
+        if (status.contains("progress") || status.contains("review") || status.contains("test")
+                || status.contains("develop") || status.contains("qa")) {
+            return Stage.IN_PROGRESS;
+        }
+        return Stage.TO_DO;
+    }
+
+    private static String normalize(String status) {
+        return status.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,473 @@
+package com.jira.explorer.model;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Columnar store for large result sets (100k+ issues)
+ * Each issue is a row across parallel primitive arrays: low-cardinality fields (status, issue type,
+ * priority, assignee, project, key prefix) are dictionary-encoded ints, dates are epoch-millisecond
+ * longs and numeric fields doubles. Only the summary is kept as a String per row. {@link JiraIssue}
+ * views are materialized on demand from the columns and carry only the stored fields.
+ * <p>
+ * Adding an issue whose key is already stored overwrites its row, so a delta sync can be applied
+ * in place. Like ArrayList the store is not thread-safe: fill it, then share it.
+ */
+public class IssueColumnStore {
+    /** Fields the store keeps, to use as a search projection */
+    public static final List<String> BASE_FIELDS = List.of(
+            "summary", "status", "issuetype", "priority", "assignee", "project", "created", "updated", "resolutiondate");
+
+    /** Code of an absent value in a dictionary-encoded column */
+    public static final int NONE = -1;
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    /**
+     * Bidirectional mapping between the distinct values of a column and dense int codes
+     */
+    public static final class Dictionary {
+        private final List<String> values = new ArrayList<>();
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        int encode(String value) {
+            if (value == null) {
+                return NONE;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                values.add(value);
+                codes.put(value, code);
+            }
+            return code;
+        }
+
+        public String decode(int code) {
+            return code == NONE ? null : values.get(code);
+        }
+
+        /**
+         * Code of a value, or {@link #NONE} if no row has it
+         */
+        public int codeOf(String value) {
+            Integer code = value != null ? codes.get(value) : null;
+            return code != null ? code : NONE;
+        }
+
+        public int size() {
+            return values.size();
+        }
+
+        public List<String> values() {
+            return Collections.unmodifiableList(values);
+        }
+
+        long estimateBytes() {
+            long bytes = 64;
+            for (String value : values) {
+                // String with its array, plus the map entry and list slot
+                bytes += 56 + value.length() + 48;
+            }
+            return bytes;
+        }
+    }
+
+    private final List<String> numericFields;
+    private final Map<String, Integer> rowsByKey = new HashMap<>();
+
+    private final Dictionary keyPrefixes = new Dictionary();
+    private final Dictionary selfPrefixes = new Dictionary();
+    private final Dictionary statuses = new Dictionary();
+    private final Dictionary issueTypes = new Dictionary();
+    private final Dictionary priorities = new Dictionary();
+    private final Dictionary assignees = new Dictionary();
+    private final Dictionary projects = new Dictionary();
+
+    private int size;
+    private int[] keyPrefix;
+    private int[] keyNumber;
+    private long[] id;
+    private int[] selfPrefix;
+    private String[] summary;
+    private int[] status;
+    private int[] issueType;
+    private int[] priority;
+    private int[] assignee;
+    private int[] project;
+    private long[] created;
+    private long[] updated;
+    private long[] resolved;
+    private double[][] numbers;
+
+    public IssueColumnStore() {
+        this(List.of());
+    }
+
+    /**
+     * @param numericFields numeric fields to keep as double columns, e.g. a story points custom field
+     */
+    public IssueColumnStore(List<String> numericFields) {
+        this.numericFields = List.copyOf(numericFields);
+        keyPrefix = new int[INITIAL_CAPACITY];
+        keyNumber = new int[INITIAL_CAPACITY];
+        id = new long[INITIAL_CAPACITY];
+        selfPrefix = new int[INITIAL_CAPACITY];
+        summary = new String[INITIAL_CAPACITY];
+        status = new int[INITIAL_CAPACITY];
+        issueType = new int[INITIAL_CAPACITY];
+        priority = new int[INITIAL_CAPACITY];
+        assignee = new int[INITIAL_CAPACITY];
+        project = new int[INITIAL_CAPACITY];
+        created = new long[INITIAL_CAPACITY];
+        updated = new long[INITIAL_CAPACITY];
+        resolved = new long[INITIAL_CAPACITY];
+        numbers = new double[this.numericFields.size()][INITIAL_CAPACITY];
+    }
+
+    /**
+     * Fields to request when filling this store
+     */
+    public List<String> getRequiredFields() {
+        List<String> fields = new ArrayList<>(BASE_FIELDS);
+        fields.addAll(numericFields);
+        return fields;
+    }
+
+    public void addAll(Collection<JiraIssue> issues) {
+        for (JiraIssue issue : issues) {
+            add(issue);
+        }
+    }
+
+    /**
+     * Encode an issue into a new row, or over the row of the same key; returns the row
+     */
+    public int add(JiraIssue issue) {
+        Integer existing = rowsByKey.get(issue.getKey());
+        int row;
+        if (existing != null) {
+            row = existing;
+        } else {
+            row = size;
+            ensureCapacity(size + 1);
+            size++;
+            rowsByKey.put(issue.getKey(), row);
+        }
+
+        String key = issue.getKey();
+        int dash = key.lastIndexOf('-');
+        int number = dash > 0 ? parseKeyNumber(key, dash + 1) : NONE;
+        if (number != NONE) {
+            keyPrefix[row] = keyPrefixes.encode(key.substring(0, dash));
+            keyNumber[row] = number;
+        } else {
+            keyPrefix[row] = keyPrefixes.encode(key);
+            keyNumber[row] = NONE;
+        }
+
+        id[row] = Long.parseLong(issue.getId());
+        String self = issue.getSelf();
+        String idSuffix = "/" + issue.getId();
+        // Self links only differ by the issue id, keep the shared part once
+        selfPrefix[row] = self.endsWith(idSuffix)
+                ? selfPrefixes.encode(self.substring(0, self.length() - issue.getId().length()))
+                : -2 - selfPrefixes.encode(self);
+
+        JsonObject fields = issue.getFields();
+        summary[row] = emptyToNull(issue.getSummary());
+        status[row] = statuses.encode(emptyToNull(issue.getStatus()));
+        issueType[row] = issueTypes.encode(emptyToNull(issue.getIssueType()));
+        priority[row] = priorities.encode(nestedString(fields, "priority", "name"));
+        assignee[row] = assignees.encode(nestedString(fields, "assignee", "displayName"));
+        project[row] = projects.encode(nestedString(fields, "project", "key"));
+        created[row] = JiraDates.parse(string(fields, "created"));
+        updated[row] = JiraDates.parse(issue.getUpdated());
+        resolved[row] = JiraDates.parse(string(fields, "resolutiondate"));
+        for (int i = 0; i < numericFields.size(); i++) {
+            JsonElement value = fields != null ? fields.get(numericFields.get(i)) : null;
+            numbers[i][row] = value != null && value.isJsonPrimitive() && value.getAsJsonPrimitive().isNumber()
+                    ? value.getAsDouble() : Double.NaN;
+        }
+        return row;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Row of an issue key, or -1
+     */
+    public int rowOf(String key) {
+        Integer row = rowsByKey.get(key);
+        return row != null ? row : -1;
+    }
+
+    public String getKey(int row) {
+        checkRow(row);
+        String prefix = keyPrefixes.decode(keyPrefix[row]);
+        return keyNumber[row] == NONE ? prefix : prefix + "-" + keyNumber[row];
+    }
+
+    public long getId(int row) {
+        checkRow(row);
+        return id[row];
+    }
+
+    public String getSummary(int row) {
+        checkRow(row);
+        return summary[row];
+    }
+
+    public String getStatus(int row) {
+        return statuses.decode(getStatusCode(row));
+    }
+
+    public String getIssueType(int row) {
+        return issueTypes.decode(getIssueTypeCode(row));
+    }
+
+    public String getPriority(int row) {
+        return priorities.decode(getPriorityCode(row));
+    }
+
+    public String getAssignee(int row) {
+        return assignees.decode(getAssigneeCode(row));
+    }
+
+    public String getProject(int row) {
+        return projects.decode(getProjectCode(row));
+    }
+
+    // Raw codes, for grouping and counting without decoding
+
+    public int getStatusCode(int row) {
+        checkRow(row);
+        return status[row];
+    }
+
+    public int getIssueTypeCode(int row) {
+        checkRow(row);
+        return issueType[row];
+    }
+
+    public int getPriorityCode(int row) {
+        checkRow(row);
+        return priority[row];
+    }
+
+    public int getAssigneeCode(int row) {
+        checkRow(row);
+        return assignee[row];
+    }
+
+    public int getProjectCode(int row) {
+        checkRow(row);
+        return project[row];
+    }
+
+    public Dictionary getStatuses() {
+        return statuses;
+    }
+
+    public Dictionary getIssueTypes() {
+        return issueTypes;
+    }
+
+    public Dictionary getPriorities() {
+        return priorities;
+    }
+
+    public Dictionary getAssignees() {
+        return assignees;
+    }
+
+    public Dictionary getProjects() {
+        return projects;
+    }
+
+    /**
+     * Creation time in epoch milliseconds, or {@link JiraDates#MISSING}
+     */
+    public long getCreated(int row) {
+        checkRow(row);
+        return created[row];
+    }
+
+    public long getUpdated(int row) {
+        checkRow(row);
+        return updated[row];
+    }
+
+    public long getResolved(int row) {
+        checkRow(row);
+        return resolved[row];
+    }
+
+    /**
+     * Value of a numeric field given at construction, NaN when the issue has none
+     */
+    public double getNumber(String field, int row) {
+        checkRow(row);
+        int column = numericFields.indexOf(field);
+        if (column < 0) {
+            throw new IllegalArgumentException("Field is not stored: " + field);
+        }
+        return numbers[column][row];
+    }
+
+    /**
+     * Materialize a row as a JiraIssue carrying the stored fields
+     */
+    public JiraIssue view(int row) {
+        checkRow(row);
+        JsonObject fields = new JsonObject();
+        fields.addProperty("summary", summary[row]);
+        fields.add("status", named("name", getStatus(row)));
+        fields.add("issuetype", named("name", getIssueType(row)));
+        fields.add("priority", named("name", getPriority(row)));
+        fields.add("assignee", named("displayName", getAssignee(row)));
+        fields.add("project", named("key", getProject(row)));
+        fields.addProperty("created", JiraDates.format(created[row]));
+        fields.addProperty("updated", JiraDates.format(updated[row]));
+        fields.addProperty("resolutiondate", JiraDates.format(resolved[row]));
+        for (int i = 0; i < numericFields.size(); i++) {
+            double value = numbers[i][row];
+            fields.addProperty(numericFields.get(i), Double.isNaN(value) ? null : value);
+        }
+
+        String issueId = String.valueOf(id[row]);
+        int selfCode = selfPrefix[row];
+        String self = selfCode >= 0 ? selfPrefixes.decode(selfCode) + issueId : selfPrefixes.decode(-2 - selfCode);
+
+        JsonObject json = new JsonObject();
+        json.addProperty("id", issueId);
+        json.addProperty("key", getKey(row));
+        json.addProperty("self", self);
+        json.add("fields", fields);
+        return new JiraIssue(json);
+    }
+
+    /**
+     * Read-only list over the rows, materializing each JiraIssue when it is accessed
+     */
+    public List<JiraIssue> asList() {
+        return new IssueList();
+    }
+
+    /**
+     * Rough heap footprint of the store in bytes
+     */
+    public long estimateBytes() {
+        int capacity = id.length;
+        // 9 int columns (incl. keyNumber and selfPrefix), 4 long columns, the summary references
+        long bytes = capacity * (9L * 4 + 4L * 8 + 4) + (long) numbers.length * capacity * 8;
+        for (int row = 0; row < size; row++) {
+            if (summary[row] != null) {
+                bytes += 56 + summary[row].length();
+            }
+        }
+        // Key index: key string plus HashMap node and boxed row
+        bytes += size * (56L + 12 + 32 + 16);
+        for (Dictionary dictionary : List.of(keyPrefixes, selfPrefixes, statuses, issueTypes, priorities, assignees, projects)) {
+            bytes += dictionary.estimateBytes();
+        }
+        return bytes;
+    }
+
+    private class IssueList extends AbstractList<JiraIssue> implements RandomAccess {
+        @Override
+        public JiraIssue get(int index) {
+            return view(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= id.length) {
+            return;
+        }
+        int capacity = Math.max(required, id.length + (id.length >> 1));
+        keyPrefix = Arrays.copyOf(keyPrefix, capacity);
+        keyNumber = Arrays.copyOf(keyNumber, capacity);
+        id = Arrays.copyOf(id, capacity);
+        selfPrefix = Arrays.copyOf(selfPrefix, capacity);
+        summary = Arrays.copyOf(summary, capacity);
+        status = Arrays.copyOf(status, capacity);
+        issueType = Arrays.copyOf(issueType, capacity);
+        priority = Arrays.copyOf(priority, capacity);
+        assignee = Arrays.copyOf(assignee, capacity);
+        project = Arrays.copyOf(project, capacity);
+        created = Arrays.copyOf(created, capacity);
+        updated = Arrays.copyOf(updated, capacity);
+        resolved = Arrays.copyOf(resolved, capacity);
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = Arrays.copyOf(numbers[i], capacity);
+        }
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + ", size " + size);
+        }
+    }
+
+    private static int parseKeyNumber(String key, int start) {
+        if (start >= key.length() || key.length() - start > 9) {
+            return NONE;
+        }
+        int number = 0;
+        for (int i = start; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c < '0' || c > '9') {
+                return NONE;
+            }
+            number = number * 10 + (c - '0');
+        }
+        return number;
+    }
+
+    private static JsonObject named(String property, String value) {
+        if (value == null) {
+            return null;
+        }
+        JsonObject object = new JsonObject();
+        object.addProperty(property, value);
+        return object;
+    }
+
+    private static String string(JsonObject fields, String name) {
+        JsonElement value = fields != null ? fields.get(name) : null;
+        return value != null && value.isJsonPrimitive() ? value.getAsString() : null;
+    }
+
+    private static String nestedString(JsonObject fields, String name, String property) {
+        JsonElement value = fields != null ? fields.get(name) : null;
+        if (value != null && value.isJsonObject()) {
+            JsonElement nested = value.getAsJsonObject().get(property);
+            if (nested != null && nested.isJsonPrimitive()) {
+                return nested.getAsString();
+            }
+        }
+        return null;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+}
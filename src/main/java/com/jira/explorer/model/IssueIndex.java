@@ -0,0 +1,259 @@
+package com.jira.explorer.model;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over loaded issues, for instant client-side filtering
+ * Every text value of an issue's fields is tokenized into a shared posting map; status, assignee
+ * and issue type additionally get exact-value postings. Issues can be added while a search is
+ * still streaming in, and a compiled {@link Filter} picks them up on its next evaluation.
+ * <p>
+ * Filter syntax: whitespace separated terms, all of which must match. {@code status:}, {@code assignee:}
+ * and {@code type:} match the start of the exact value, an issue key the start of a key, anything
+ * else the start of a word.
+ * Double quotes keep spaces inside a term, e.g. {@code status:"in prog" login}.
+ * All methods are thread-safe.
+ */
+public class IssueIndex {
+    private static final char PREFIX_END = Character.MAX_VALUE;
+    // A whole or partially typed issue key, e.g. "shop-12"
+    private static final Pattern KEY_TERM = Pattern.compile("[a-z][a-z0-9_]*-\\d*");
+
+    private final Map<JiraIssue, Integer> docIds = new IdentityHashMap<>();
+    private final NavigableMap<String, BitSet> keys = new TreeMap<>();
+    private final NavigableMap<String, BitSet> tokens = new TreeMap<>();
+    private final NavigableMap<String, BitSet> statuses = new TreeMap<>();
+    private final NavigableMap<String, BitSet> assignees = new TreeMap<>();
+    private final NavigableMap<String, BitSet> issueTypes = new TreeMap<>();
+    private int size;
+    // Bumped on every change, so filters know when to re-evaluate
+    private long modCount;
+
+    public synchronized void addAll(Collection<JiraIssue> issues) {
+        for (JiraIssue issue : issues) {
+            add(issue);
+        }
+    }
+
+    public synchronized void add(JiraIssue issue) {
+        if (docIds.containsKey(issue)) {
+            return;
+        }
+        int doc = size++;
+        modCount++;
+        docIds.put(issue, doc);
+
+        post(keys, normalize(issue.getKey()), doc);
+        post(statuses, normalize(issue.getStatus()), doc);
+        post(assignees, normalize(issue.getAssignee()), doc);
+        post(issueTypes, normalize(issue.getIssueType()), doc);
+
+        indexText(issue.getKey(), doc);
+        JsonObject fields = issue.getFields();
+        if (fields != null) {
+            for (Map.Entry<String, JsonElement> field : fields.entrySet()) {
+                indexValue(field.getValue(), doc);
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        docIds.clear();
+        keys.clear();
+        tokens.clear();
+        statuses.clear();
+        assignees.clear();
+        issueTypes.clear();
+        size = 0;
+        modCount++;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Compile a filter expression; a blank expression yields null, meaning no filtering
+     */
+    public Filter compile(String expression) {
+        List<Term> terms = parse(expression);
+        return terms.isEmpty() ? null : new Filter(terms);
+    }
+
+    /**
+     * A compiled filter over this index, usable as a FilteredList predicate
+     * Its matching documents are recomputed only after the index has changed.
+     */
+    public class Filter implements Predicate<JiraIssue> {
+        private final List<Term> terms;
+        // Guarded by the index
+        private BitSet matches;
+        private long matchesModCount = -1;
+
+        private Filter(List<Term> terms) {
+            this.terms = terms;
+        }
+
+        @Override
+        public boolean test(JiraIssue issue) {
+            synchronized (IssueIndex.this) {
+                Integer doc = docIds.get(issue);
+                if (doc == null) {
+                    return false;
+                }
+                if (matchesModCount != modCount) {
+                    matches = evaluate(terms);
+                    matchesModCount = modCount;
+                }
+                return matches.get(doc);
+            }
+        }
+    }
+
+    private BitSet evaluate(List<Term> terms) {
+        BitSet result = new BitSet(size);
+        result.set(0, size);
+        for (Term term : terms) {
+            result.and(term.evaluate());
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private void indexValue(JsonElement value, int doc) {
+        if (value == null || value.isJsonNull()) {
+            return;
+        }
+        if (value.isJsonPrimitive()) {
+            JsonPrimitive primitive = value.getAsJsonPrimitive();
+            String text = primitive.getAsString();
+            // Links and avatar URLs would make every issue match "http", "rest", "api"...
+            if (!text.startsWith("http://") && !text.startsWith("https://")) {
+                indexText(text, doc);
+            }
+        } else if (value.isJsonArray()) {
+            for (JsonElement element : value.getAsJsonArray()) {
+                indexValue(element, doc);
+            }
+        } else {
+            for (Map.Entry<String, JsonElement> member : value.getAsJsonObject().entrySet()) {
+                if (!member.getKey().equals("self")) {
+                    indexValue(member.getValue(), doc);
+                }
+            }
+        }
+    }
+
+    private void indexText(String text, int doc) {
+        for (String token : tokenize(text)) {
+            post(tokens, token, doc);
+        }
+    }
+
+    private static void post(Map<String, BitSet> postings, String value, int doc) {
+        if (!value.isEmpty()) {
+            postings.computeIfAbsent(value, v -> new BitSet()).set(doc);
+        }
+    }
+
+    /**
+     * Union of the postings of every value starting with prefix
+     */
+    private static BitSet prefixPostings(NavigableMap<String, BitSet> postings, String prefix) {
+        BitSet result = new BitSet();
+        for (BitSet docs : postings.subMap(prefix, true, prefix + PREFIX_END, true).values()) {
+            result.or(docs);
+        }
+        return result;
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> result = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                result.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return result;
+    }
+
+    private static String normalize(String value) {
+        return value != null ? value.trim().toLowerCase(Locale.ROOT) : "";
+    }
+
+    private List<Term> parse(String expression) {
+        List<Term> terms = new ArrayList<>();
+        if (expression == null) {
+            return terms;
+        }
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i <= expression.length(); i++) {
+            char c = i < expression.length() ? expression.charAt(i) : ' ';
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (Character.isWhitespace(c) && !quoted || i == expression.length()) {
+                addTerm(terms, current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        return terms;
+    }
+
+    private void addTerm(List<Term> terms, String text) {
+        int colon = text.indexOf(':');
+        if (colon > 0) {
+            String field = text.substring(0, colon).toLowerCase(Locale.ROOT);
+            String value = normalize(text.substring(colon + 1));
+            NavigableMap<String, BitSet> postings = switch (field) {
+                case "status" -> statuses;
+                case "assignee" -> assignees;
+                case "type", "issuetype" -> issueTypes;
+                default -> null;
+            };
+            if (postings != null) {
+                if (!value.isEmpty()) {
+                    terms.add(() -> prefixPostings(postings, value));
+                }
+                return;
+            }
+        }
+        String normalized = normalize(text);
+        if (KEY_TERM.matcher(normalized).matches()) {
+            terms.add(() -> prefixPostings(keys, normalized));
+            return;
+        }
+        // Free text: every word must start some indexed word
+        for (String token : tokenize(text)) {
+            terms.add(() -> prefixPostings(tokens, token));
+        }
+    }
+
+    @FunctionalInterface
+    private interface Term {
+        BitSet evaluate();
+    }
+}
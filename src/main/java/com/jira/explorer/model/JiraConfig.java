@@ -2,6 +2,10 @@ package com.jira.explorer.model;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
 /**
@@ -38,6 +42,20 @@ public class JiraConfig {
             return apiPath;
         }
 
+        /**
+         * Fields requested when no projection is configured
+         */
+        public List<String> getDefaultFields() {
+            return this == CLOUD_CURRENT ? List.of("*navigable") : List.of("*all");
+        }
+
+        /**
+         * Expansions requested when none are configured
+         */
+        public String getDefaultExpand() {
+            return this == CLOUD_CURRENT ? "" : "names,schema";
+        }
+
         public String getSearchEndpoint() {
             // Cloud v3 uses /search/jql, Server v2 uses /search
             if (this == CLOUD_CURRENT) {
@@ -51,48 +69,123 @@ public class JiraConfig {
     private String username;
     private String apiToken;
     private int maxResults;
+    private int searchConcurrency;
+    private List<String> searchFields;
+    private String expand;
+    private boolean cacheEnabled;
+    private String cacheDir;
+    private int queryCacheSize;
+    private int queryCacheTtlSeconds;
+    private boolean queryCacheRevalidate;
+    private int fieldCacheTtlSeconds;
+    private int changelogConcurrency;
+    private int changelogCacheSize;
+    private double rateLimitPerSecond;
+    private int rateLimitBurst;
+    private int maxConcurrentRequests;
+    private int maxRetries;
     private ApiVersion apiVersion;
 
     public JiraConfig() {
+        applyDefaults();
         loadFromProperties();
     }
 
     public JiraConfig(String jiraUrl, String username, String apiToken) {
+        applyDefaults();
         this.jiraUrl = jiraUrl;
         this.username = username;
         this.apiToken = apiToken;
-        this.maxResults = 50; // Default
-        this.apiVersion = ApiVersion.CLOUD_CURRENT; // Default
+    }
+
+    private void applyDefaults() {
+        this.maxResults = 50;
+        this.searchConcurrency = 4;
+        this.cacheEnabled = true;
+        this.queryCacheSize = 50;
+        this.queryCacheTtlSeconds = 300;
+        this.queryCacheRevalidate = true;
+        this.fieldCacheTtlSeconds = 86400;
+        this.changelogConcurrency = 4;
+        this.changelogCacheSize = 10000;
+        this.rateLimitPerSecond = 10;
+        this.rateLimitBurst = 20;
+        this.maxConcurrentRequests = 16;
+        this.maxRetries = 4;
+        this.apiVersion = ApiVersion.CLOUD_CURRENT;
     }
 
     private void loadFromProperties() {
-        Properties props = new Properties();
         try (InputStream input = getClass().getClassLoader().getResourceAsStream("jira.properties")) {
             if (input != null) {
+                Properties props = new Properties();
                 props.load(input);
-                this.jiraUrl = props.getProperty("jira.url", "");
-                this.username = props.getProperty("jira.username", "");
-                this.apiToken = props.getProperty("jira.apitoken", "");
-                this.maxResults = Integer.parseInt(props.getProperty("jira.maxresults", "50"));
-
-                // Load API version
-                String versionStr = props.getProperty("jira.apiversion", "CLOUD_CURRENT");
-                try {
-                    this.apiVersion = ApiVersion.valueOf(versionStr);
-                } catch (IllegalArgumentException e) {
-                    this.apiVersion = ApiVersion.CLOUD_CURRENT;
-                }
-            } else {
-                this.maxResults = 50;
-                this.apiVersion = ApiVersion.CLOUD_CURRENT;
+                applyProperties(props);
             }
         } catch (IOException e) {
             // Properties file not found or error reading, use defaults
-            this.maxResults = 50;
-            this.apiVersion = ApiVersion.CLOUD_CURRENT;
         }
     }
 
+    /**
+     * Apply jira.* settings, keeping the current value of any setting that is absent
+     */
+    public void applyProperties(Properties props) {
+        this.jiraUrl = props.getProperty("jira.url", jiraUrl != null ? jiraUrl : "");
+        this.username = props.getProperty("jira.username", username != null ? username : "");
+        this.apiToken = props.getProperty("jira.apitoken", apiToken != null ? apiToken : "");
+        this.maxResults = intProperty(props, "jira.maxresults", maxResults);
+        this.searchConcurrency = intProperty(props, "jira.searchconcurrency", searchConcurrency);
+        if (props.containsKey("jira.fields")) {
+            this.searchFields = parseFieldList(props.getProperty("jira.fields"));
+        }
+        // Absent means the API version default, an empty value disables expansion
+        this.expand = props.getProperty("jira.expand", expand);
+        this.cacheEnabled = Boolean.parseBoolean(props.getProperty("jira.cache.enabled", String.valueOf(cacheEnabled)));
+        this.cacheDir = props.getProperty("jira.cache.dir", cacheDir);
+        this.queryCacheSize = intProperty(props, "jira.querycache.size", queryCacheSize);
+        this.queryCacheTtlSeconds = intProperty(props, "jira.querycache.ttl", queryCacheTtlSeconds);
+        this.queryCacheRevalidate = Boolean.parseBoolean(props.getProperty("jira.querycache.revalidate", String.valueOf(queryCacheRevalidate)));
+        this.fieldCacheTtlSeconds = intProperty(props, "jira.fieldcache.ttl", fieldCacheTtlSeconds);
+        this.changelogConcurrency = intProperty(props, "jira.changelog.concurrency", changelogConcurrency);
+        this.changelogCacheSize = intProperty(props, "jira.changelogcache.size", changelogCacheSize);
+        this.rateLimitPerSecond = Double.parseDouble(props.getProperty("jira.ratelimit.rps", String.valueOf(rateLimitPerSecond)));
+        this.rateLimitBurst = intProperty(props, "jira.ratelimit.burst", rateLimitBurst);
+        this.maxConcurrentRequests = intProperty(props, "jira.ratelimit.maxconcurrency", maxConcurrentRequests);
+        this.maxRetries = intProperty(props, "jira.ratelimit.maxretries", maxRetries);
+
+        // Load API version
+        String versionStr = props.getProperty("jira.apiversion");
+        if (versionStr != null) {
+            try {
+                this.apiVersion = ApiVersion.valueOf(versionStr.trim());
+            } catch (IllegalArgumentException e) {
+                this.apiVersion = ApiVersion.CLOUD_CURRENT;
+            }
+        }
+    }
+
+    private static int intProperty(Properties props, String name, int defaultValue) {
+        String value = props.getProperty(name);
+        return value != null && !value.isBlank() ? Integer.parseInt(value.trim()) : defaultValue;
+    }
+
+    /**
+     * Parse a comma separated field list, returning null for a blank value
+     */
+    public static List<String> parseFieldList(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        for (String field : value.split(",")) {
+            if (!field.isBlank()) {
+                fields.add(field.trim());
+            }
+        }
+        return fields.isEmpty() ? null : fields;
+    }
+
     public String getJiraUrl() {
         return jiraUrl;
     }
@@ -125,6 +218,181 @@ public class JiraConfig {
         this.maxResults = maxResults;
     }
 
+    /**
+     * Maximum number of search pages fetched in parallel (Server v2 only)
+     */
+    public int getSearchConcurrency() {
+        return Math.max(1, searchConcurrency);
+    }
+
+    public void setSearchConcurrency(int searchConcurrency) {
+        this.searchConcurrency = searchConcurrency;
+    }
+
+    /**
+     * Default field projection for searches, falling back to the API version default
+     */
+    public List<String> getSearchFields() {
+        return searchFields != null ? searchFields : getApiVersion().getDefaultFields();
+    }
+
+    public void setSearchFields(List<String> searchFields) {
+        this.searchFields = searchFields != null && !searchFields.isEmpty() ? List.copyOf(searchFields) : null;
+    }
+
+    /**
+     * Whether a field projection was explicitly configured
+     */
+    public boolean hasSearchFieldProjection() {
+        return searchFields != null;
+    }
+
+    /**
+     * Default expansions for searches (e.g. names,schema), empty for none
+     */
+    public String getExpand() {
+        return expand != null ? expand.trim() : getApiVersion().getDefaultExpand();
+    }
+
+    public void setExpand(String expand) {
+        this.expand = expand;
+    }
+
+    /**
+     * Whether search results are kept in the on-disk issue cache and refreshed incrementally
+     */
+    public boolean isCacheEnabled() {
+        return cacheEnabled;
+    }
+
+    public void setCacheEnabled(boolean cacheEnabled) {
+        this.cacheEnabled = cacheEnabled;
+    }
+
+    /**
+     * Root directory of the on-disk caches, defaults to ~/.jira-explorer/cache
+     */
+    public Path getCacheDir() {
+        if (cacheDir != null && !cacheDir.isBlank()) {
+            return Paths.get(cacheDir);
+        }
+        return Paths.get(System.getProperty("user.home"), ".jira-explorer", "cache");
+    }
+
+    public void setCacheDir(String cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    /**
+     * Maximum number of search results kept in the in-memory query cache
+     */
+    public int getQueryCacheSize() {
+        return queryCacheSize;
+    }
+
+    public void setQueryCacheSize(int queryCacheSize) {
+        this.queryCacheSize = queryCacheSize;
+    }
+
+    /**
+     * Seconds after which a cached search result is considered stale
+     */
+    public int getQueryCacheTtlSeconds() {
+        return queryCacheTtlSeconds;
+    }
+
+    public void setQueryCacheTtlSeconds(int queryCacheTtlSeconds) {
+        this.queryCacheTtlSeconds = queryCacheTtlSeconds;
+    }
+
+    /**
+     * Whether a search served from the query cache is also refreshed in the background
+     */
+    public boolean isQueryCacheRevalidate() {
+        return queryCacheRevalidate;
+    }
+
+    public void setQueryCacheRevalidate(boolean queryCacheRevalidate) {
+        this.queryCacheRevalidate = queryCacheRevalidate;
+    }
+
+    /**
+     * Seconds the cached field metadata is trusted when the server sends no ETag/Last-Modified
+     */
+    public int getFieldCacheTtlSeconds() {
+        return fieldCacheTtlSeconds;
+    }
+
+    public void setFieldCacheTtlSeconds(int fieldCacheTtlSeconds) {
+        this.fieldCacheTtlSeconds = fieldCacheTtlSeconds;
+    }
+
+    /**
+     * Maximum number of changelog requests in flight at once
+     */
+    public int getChangelogConcurrency() {
+        return changelogConcurrency > 0 ? changelogConcurrency : 4;
+    }
+
+    public void setChangelogConcurrency(int changelogConcurrency) {
+        this.changelogConcurrency = changelogConcurrency;
+    }
+
+    /**
+     * Maximum number of issue changelogs kept in memory, keyed by issue key and updated time
+     */
+    public int getChangelogCacheSize() {
+        return changelogCacheSize;
+    }
+
+    public void setChangelogCacheSize(int changelogCacheSize) {
+        this.changelogCacheSize = changelogCacheSize;
+    }
+
+    /**
+     * Sustained request rate allowed towards Jira (requests per second)
+     */
+    public double getRateLimitPerSecond() {
+        return rateLimitPerSecond > 0 ? rateLimitPerSecond : 10;
+    }
+
+    public void setRateLimitPerSecond(double rateLimitPerSecond) {
+        this.rateLimitPerSecond = rateLimitPerSecond;
+    }
+
+    /**
+     * Number of requests that may be sent in a burst above the sustained rate
+     */
+    public int getRateLimitBurst() {
+        return rateLimitBurst;
+    }
+
+    public void setRateLimitBurst(int rateLimitBurst) {
+        this.rateLimitBurst = rateLimitBurst;
+    }
+
+    /**
+     * Upper bound of the adaptive concurrency limit
+     */
+    public int getMaxConcurrentRequests() {
+        return Math.max(1, maxConcurrentRequests);
+    }
+
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    /**
+     * How many times a 429/503 response is retried before it is reported as an error
+     */
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public void setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+    }
+
     public ApiVersion getApiVersion() {
         return apiVersion != null ? apiVersion : ApiVersion.CLOUD_CURRENT;
     }
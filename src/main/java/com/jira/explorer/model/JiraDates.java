@@ -0,0 +1,51 @@
+package com.jira.explorer.model;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Conversion between Jira date strings and epoch milliseconds
+ * Date-times come as "2024-03-01T10:15:30.000+0000" on both Server and Cloud, dates (duedate) as "2024-03-01".
+ */
+public final class JiraDates {
+    /** Marker for an absent or unparseable date */
+    public static final long MISSING = Long.MIN_VALUE;
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+
+    private JiraDates() {
+    }
+
+    /**
+     * Epoch milliseconds of a Jira date or date-time, or {@link #MISSING}
+     */
+    public static long parse(String value) {
+        if (value == null || value.isEmpty()) {
+            return MISSING;
+        }
+        try {
+            if (value.length() == 10) {
+                return LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+            }
+            return OffsetDateTime.parse(value, DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            try {
+                // ISO-8601 with a colon in the offset, as some Cloud endpoints send
+                return OffsetDateTime.parse(value).toInstant().toEpochMilli();
+            } catch (DateTimeParseException ignored) {
+                return MISSING;
+            }
+        }
+    }
+
+    /**
+     * Format epoch milliseconds in Jira's date-time format (UTC), or null for {@link #MISSING}
+     */
+    public static String format(long millis) {
+        return millis == MISSING ? null : DATE_TIME.format(Instant.ofEpochMilli(millis).atOffset(ZoneOffset.UTC));
+    }
+}
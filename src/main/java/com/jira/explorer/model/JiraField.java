@@ -0,0 +1,108 @@
+package com.jira.explorer.model;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+/**
+ * Metadata of a Jira field as returned by the /field endpoint
+ */
+public final class JiraField {
+    private final String id;
+    private final String name;
+    private final boolean custom;
+    private final String schemaType;
+    private final String schemaItems;
+    private final String schemaCustom;
+    private final String displayName;
+
+    public JiraField(String id, String name, boolean custom, String schemaType, String schemaItems, String schemaCustom) {
+        this.id = id;
+        this.name = name;
+        this.custom = custom;
+        this.schemaType = schemaType;
+        this.schemaItems = schemaItems;
+        this.schemaCustom = schemaCustom;
+        // Precomputed because it is requested for every rendered field cell
+        this.displayName = name != null && !name.equals(id) ? name + " (" + id + ")" : id;
+    }
+
+    /**
+     * Build from a /field entry
+     */
+    public static JiraField fromJson(JsonObject json) {
+        JsonObject schema = json.has("schema") && json.get("schema").isJsonObject() ? json.getAsJsonObject("schema") : null;
+        return new JiraField(
+                json.get("id").getAsString(),
+                string(json, "name"),
+                json.has("custom") && json.get("custom").getAsBoolean(),
+                string(schema, "type"),
+                string(schema, "items"),
+                string(schema, "custom"));
+    }
+
+    public JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("id", id);
+        json.addProperty("name", name);
+        json.addProperty("custom", custom);
+        if (schemaType != null) {
+            JsonObject schema = new JsonObject();
+            schema.addProperty("type", schemaType);
+            schema.addProperty("items", schemaItems);
+            schema.addProperty("custom", schemaCustom);
+            json.add("schema", schema);
+        }
+        return json;
+    }
+
+    private static String string(JsonObject obj, String name) {
+        if (obj == null) return null;
+        JsonElement value = obj.get(name);
+        return value != null && !value.isJsonNull() ? value.getAsString() : null;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isCustom() {
+        return custom;
+    }
+
+    /**
+     * Schema type (string, number, date, datetime, array, option, user...), or null for fields without schema
+     */
+    public String getSchemaType() {
+        return schemaType;
+    }
+
+    /**
+     * Item type for array fields
+     */
+    public String getSchemaItems() {
+        return schemaItems;
+    }
+
+    /**
+     * Custom field type key (e.g. com.pyxis.greenhopper.jira:gh-epic-link)
+     */
+    public String getSchemaCustom() {
+        return schemaCustom;
+    }
+
+    /**
+     * "Name (id)" label used by the field explorer
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
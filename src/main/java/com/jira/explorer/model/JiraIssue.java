@@ -3,55 +3,100 @@ package com.jira.explorer.model;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Model class representing a Jira issue with all its fields
+ * The hot display fields are extracted once into compact slots; the flattened field map
+ * is only built the first time it is requested (typically when the issue is selected).
  */
 public class JiraIssue {
-    private String key;
-    private String id;
-    private String self;
-    private JsonObject fields;
-    private Map<String, Object> flattenedFields;
+    // Process-wide flatten statistics, published by FlattenMetrics
+    private static final LongAdder FLATTEN_COUNT = new LongAdder();
+    private static final LongAdder FLATTEN_NANOS = new LongAdder();
+
+    private final String key;
+    private final String id;
+    private final String self;
+    private final JsonObject fields;
+    // Only present when searched or fetched with expand=changelog
+    private final JsonObject changelog;
+
+    // Compact slots for the accessors used when rendering lists
+    private final String summary;
+    private final String status;
+    private final String issueType;
+    private final String assignee;
+    private final String updated;
+
+    private volatile Map<String, Object> flattenedFields;
 
     public JiraIssue(JsonObject issueJson) {
         this.key = issueJson.get("key").getAsString();
         this.id = issueJson.get("id").getAsString();
         this.self = issueJson.get("self").getAsString();
         this.fields = issueJson.getAsJsonObject("fields");
-        this.flattenedFields = new LinkedHashMap<>();
-        flattenFields();
+        JsonElement changelogJson = issueJson.get("changelog");
+        this.changelog = changelogJson != null && changelogJson.isJsonObject() ? changelogJson.getAsJsonObject() : null;
+
+        this.summary = flattenValue(member(fields, "summary"));
+        // Status and issue type names repeat across thousands of issues, share one instance each
+        this.status = intern(nestedString(fields, "status", "name"));
+        this.issueType = intern(nestedString(fields, "issuetype", "name"));
+        this.assignee = nestedString(fields, "assignee", "displayName");
+        this.updated = flattenValue(member(fields, "updated"));
     }
 
-    private void flattenFields() {
-        if (fields == null) return;
+    private Map<String, Object> flattenFields() {
+        if (fields == null) return Collections.emptyMap();
 
+        Map<String, Object> flattened = new LinkedHashMap<>();
         for (Map.Entry<String, JsonElement> entry : fields.entrySet()) {
-            String fieldName = entry.getKey();
-            JsonElement value = entry.getValue();
-
-            if (value.isJsonNull()) {
-                flattenedFields.put(fieldName, null);
-            } else if (value.isJsonPrimitive()) {
-                flattenedFields.put(fieldName, value.getAsString());
-            } else if (value.isJsonObject()) {
-                JsonObject obj = value.getAsJsonObject();
-                // Try to get common display fields
-                if (obj.has("displayName")) {
-                    flattenedFields.put(fieldName, obj.get("displayName").getAsString());
-                } else if (obj.has("name")) {
-                    flattenedFields.put(fieldName, obj.get("name").getAsString());
-                } else if (obj.has("value")) {
-                    flattenedFields.put(fieldName, obj.get("value").getAsString());
-                } else {
-                    flattenedFields.put(fieldName, obj.toString());
-                }
-            } else if (value.isJsonArray()) {
-                flattenedFields.put(fieldName, value.toString());
+            flattened.put(entry.getKey(), flattenValue(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(flattened);
+    }
+
+    private static String flattenValue(JsonElement value) {
+        if (value == null || value.isJsonNull()) {
+            return null;
+        } else if (value.isJsonPrimitive()) {
+            return value.getAsString();
+        } else if (value.isJsonObject()) {
+            JsonObject obj = value.getAsJsonObject();
+            // Try to get common display fields
+            if (obj.has("displayName")) {
+                return obj.get("displayName").getAsString();
+            } else if (obj.has("name")) {
+                return obj.get("name").getAsString();
+            } else if (obj.has("value")) {
+                return obj.get("value").getAsString();
+            }
+            return obj.toString();
+        }
+        return value.toString();
+    }
+
+    private static JsonElement member(JsonObject obj, String name) {
+        return obj != null ? obj.get(name) : null;
+    }
+
+    private static String nestedString(JsonObject obj, String name, String property) {
+        JsonElement value = member(obj, name);
+        if (value != null && value.isJsonObject()) {
+            JsonElement nested = value.getAsJsonObject().get(property);
+            if (nested != null && !nested.isJsonNull()) {
+                return nested.getAsString();
             }
         }
+        return null;
+    }
+
+    private static String intern(String value) {
+        return value != null ? value.intern() : null;
     }
 
     public String getKey() {
@@ -70,47 +115,82 @@ public class JiraIssue {
         return fields;
     }
 
+    /**
+     * The expanded changelog (histories, startAt, maxResults, total), or null if it was not requested
+     * Search responses may truncate it, compare the histories with total.
+     */
+    public JsonObject getChangelog() {
+        return changelog;
+    }
+
     public Map<String, Object> getFlattenedFields() {
-        return flattenedFields;
+        Map<String, Object> result = flattenedFields;
+        if (result == null) {
+            // Benign race: concurrent first calls may both flatten, the maps are equal
+            long start = System.nanoTime();
+            result = flattenFields();
+            FLATTEN_NANOS.add(System.nanoTime() - start);
+            FLATTEN_COUNT.increment();
+            flattenedFields = result;
+        }
+        return result;
+    }
+
+    /**
+     * Number of issues flattened so far in this JVM
+     */
+    public static long getFlattenCount() {
+        return FLATTEN_COUNT.sum();
+    }
+
+    /**
+     * Total time spent flattening issues in this JVM, in nanoseconds
+     */
+    public static long getFlattenNanos() {
+        return FLATTEN_NANOS.sum();
     }
 
     public String getFieldValue(String fieldName) {
-        Object value = flattenedFields.get(fieldName);
+        Object value = getFlattenedFields().get(fieldName);
         return value != null ? value.toString() : "";
     }
 
     public String getSummary() {
-        return getFieldValue("summary");
+        return summary != null ? summary : "";
     }
 
     public String getStatus() {
-        if (fields.has("status") && !fields.get("status").isJsonNull()) {
-            JsonObject status = fields.getAsJsonObject("status");
-            if (status.has("name")) {
-                return status.get("name").getAsString();
-            }
-        }
-        return "";
+        return status != null ? status : "";
     }
 
     public String getIssueType() {
-        if (fields.has("issuetype") && !fields.get("issuetype").isJsonNull()) {
-            JsonObject issueType = fields.getAsJsonObject("issuetype");
-            if (issueType.has("name")) {
-                return issueType.get("name").getAsString();
-            }
-        }
-        return "";
+        return issueType != null ? issueType : "";
     }
 
     public String getAssignee() {
-        if (fields.has("assignee") && !fields.get("assignee").isJsonNull()) {
-            JsonObject assignee = fields.getAsJsonObject("assignee");
-            if (assignee.has("displayName")) {
-                return assignee.get("displayName").getAsString();
-            }
+        return assignee != null ? assignee : "Unassigned";
+    }
+
+    /**
+     * Raw "updated" timestamp as returned by Jira, or null if the field was not requested
+     */
+    public String getUpdated() {
+        return updated;
+    }
+
+    /**
+     * Rebuild the issue JSON in the shape returned by the search endpoints
+     */
+    public JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("id", id);
+        json.addProperty("key", key);
+        json.addProperty("self", self);
+        json.add("fields", fields != null ? fields : new JsonObject());
+        if (changelog != null) {
+            json.add("changelog", changelog);
         }
-        return "Unassigned";
+        return json;
     }
 
     @Override
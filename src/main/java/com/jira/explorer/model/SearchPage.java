@@ -0,0 +1,54 @@
+package com.jira.explorer.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of a JQL search response
+ * Carries the paging cursor for both Server v2 (startAt/total) and Cloud v3 (nextPageToken)
+ */
+public class SearchPage {
+    private final List<JiraIssue> issues;
+    private final int startAt;
+    private final int maxResults;
+    private final int total;
+    private final String nextPageToken;
+    private final boolean last;
+
+    public SearchPage(List<JiraIssue> issues, int startAt, int maxResults, int total,
+                      String nextPageToken, boolean last) {
+        this.issues = Collections.unmodifiableList(issues);
+        this.startAt = startAt;
+        this.maxResults = maxResults;
+        this.total = total;
+        this.nextPageToken = nextPageToken;
+        this.last = last;
+    }
+
+    public List<JiraIssue> getIssues() {
+        return issues;
+    }
+
+    public int getStartAt() {
+        return startAt;
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    /**
+     * Total number of matching issues, or -1 when the endpoint does not report it (Cloud /search/jql)
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+
+    public boolean isLast() {
+        return last;
+    }
+}
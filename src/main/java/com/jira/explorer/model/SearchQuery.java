@@ -0,0 +1,72 @@
+package com.jira.explorer.model;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A JQL search together with its field projection and expansions
+ * Immutable, so it can be used as a cache key.
+ */
+public final class SearchQuery {
+    private final String jql;
+    private final List<String> fields;
+    private final String expand;
+
+    /**
+     * @param jql    the JQL query
+     * @param fields fields to request (e.g. summary, status, *navigable, *all)
+     * @param expand comma separated expansions (e.g. names,schema,changelog); empty for none
+     */
+    public SearchQuery(String jql, List<String> fields, String expand) {
+        this.jql = Objects.requireNonNull(jql, "jql");
+        this.fields = Collections.unmodifiableList(List.copyOf(fields));
+        this.expand = expand != null ? expand : "";
+    }
+
+    public String getJql() {
+        return jql;
+    }
+
+    public List<String> getFields() {
+        return fields;
+    }
+
+    public String getExpand() {
+        return expand;
+    }
+
+    public boolean hasExpand() {
+        return !expand.isEmpty();
+    }
+
+    public SearchQuery withJql(String newJql) {
+        return new SearchQuery(newJql, fields, expand);
+    }
+
+    public SearchQuery withFields(List<String> newFields) {
+        return new SearchQuery(jql, newFields, expand);
+    }
+
+    public SearchQuery withExpand(String newExpand) {
+        return new SearchQuery(jql, fields, newExpand);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SearchQuery)) return false;
+        SearchQuery other = (SearchQuery) o;
+        return jql.equals(other.jql) && fields.equals(other.fields) && expand.equals(other.expand);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(jql, fields, expand);
+    }
+
+    @Override
+    public String toString() {
+        return jql + " [fields=" + String.join(",", fields) + (hasExpand() ? ", expand=" + expand : "") + "]";
+    }
+}
@@ -0,0 +1,143 @@
+package com.jira.explorer.service;
+
+import com.jira.explorer.model.JiraIssue;
+import com.jira.explorer.model.SearchQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Runs several overlapping queries, downloading every distinct issue only once
+ * All queries are first resolved to their keys with a minimal projection, concurrently; the union
+ * of the keys is then fetched in full with chunked "key in (...)" searches, and each query gets
+ * its issues back in its own order. Dashboards of per-team queries over the same project often
+ * share most of their issues, which are then transferred once instead of once per query.
+ */
+public class BatchQueryExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(BatchQueryExecutor.class);
+
+    /**
+     * Issues of every query, by query name
+     */
+    public static class Result {
+        private final Map<String, List<JiraIssue>> issues;
+        private final int references;
+        private final int distinct;
+
+        Result(Map<String, List<JiraIssue>> issues, int references, int distinct) {
+            this.issues = Collections.unmodifiableMap(issues);
+            this.references = references;
+            this.distinct = distinct;
+        }
+
+        public Map<String, List<JiraIssue>> getIssues() {
+            return issues;
+        }
+
+        public List<JiraIssue> getIssues(String name) {
+            return issues.getOrDefault(name, Collections.emptyList());
+        }
+
+        /**
+         * Issues matched summed over the queries, what separate searches would have downloaded
+         */
+        public int getReferences() {
+            return references;
+        }
+
+        /**
+         * Issues actually downloaded
+         */
+        public int getDistinct() {
+            return distinct;
+        }
+    }
+
+    private final JiraApiClient client;
+    private final SearchQuery template;
+
+    /**
+     * Fetch the configured fields and expansions (jira.fields, jira.expand)
+     */
+    public BatchQueryExecutor(JiraApiClient client) {
+        this(client, client.query(""));
+    }
+
+    /**
+     * @param template fields and expansions fetched for every issue, its JQL is ignored
+     */
+    public BatchQueryExecutor(JiraApiClient client, SearchQuery template) {
+        this.client = client;
+        this.template = template;
+    }
+
+    /**
+     * Run the queries, given as JQL by name
+     */
+    public Result execute(Map<String, String> queries) throws IOException {
+        Map<String, CompletableFuture<List<String>>> keyPasses = new LinkedHashMap<>();
+        queries.forEach((name, jql) -> keyPasses.put(name, client.searchKeysAsync(template.withJql(jql))));
+
+        Map<String, List<String>> keysByQuery = new LinkedHashMap<>();
+        Set<String> union = new LinkedHashSet<>();
+        int references = 0;
+        try {
+            for (Map.Entry<String, CompletableFuture<List<String>>> pass : keyPasses.entrySet()) {
+                List<String> keys = pass.getValue().get();
+                keysByQuery.put(pass.getKey(), keys);
+                union.addAll(keys);
+                references += keys.size();
+            }
+        } catch (InterruptedException e) {
+            keyPasses.values().forEach(pass -> pass.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Batch interrupted");
+        } catch (ExecutionException e) {
+            keyPasses.values().forEach(pass -> pass.cancel(true));
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            // Programming errors are not I/O failures and must not be handled like one
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException("Key resolution failed", cause);
+        }
+
+        Map<String, JiraIssue> byKey = new HashMap<>(union.size() * 2);
+        for (JiraIssue issue : client.searchByKeys(union, template)) {
+            byKey.put(issue.getKey(), issue);
+        }
+
+        Map<String, List<JiraIssue>> results = new LinkedHashMap<>();
+        keysByQuery.forEach((name, keys) -> {
+            List<JiraIssue> issues = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                // Missing when the issue was deleted or moved between the two passes
+                JiraIssue issue = byKey.get(key);
+                if (issue != null) {
+                    issues.add(issue);
+                }
+            }
+            results.put(name, issues);
+        });
+        logger.info("Ran {} queries: {} issues matched, {} distinct downloaded", queries.size(), references, byKey.size());
+        return new Result(results, references, byKey.size());
+    }
+}
@@ -0,0 +1,61 @@
+package com.jira.explorer.service;
+
+import okhttp3.Call;
+import okhttp3.Dispatcher;
+
+/**
+ * Groups the HTTP calls made on behalf of one logical operation so they can be cancelled together
+ * Calls are tagged with the scope that is current on the thread creating them; cancelling the
+ * scope cancels every tagged call that is queued or running and fails any call created afterwards.
+ */
+final class CallScope {
+    private static final ThreadLocal<CallScope> CURRENT = new ThreadLocal<>();
+
+    private volatile boolean cancelled;
+
+    static CallScope current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Run an operation with this scope as the current one
+     */
+    <T> T run(ThrowingSupplier<T> operation) throws Exception {
+        CallScope previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return operation.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    void cancel(Dispatcher dispatcher) {
+        cancelled = true;
+        for (Call call : dispatcher.queuedCalls()) {
+            cancelIfOwned(call);
+        }
+        for (Call call : dispatcher.runningCalls()) {
+            cancelIfOwned(call);
+        }
+    }
+
+    private void cancelIfOwned(Call call) {
+        if (call.request().tag(CallScope.class) == this) {
+            call.cancel();
+        }
+    }
+
+    @FunctionalInterface
+    interface ThrowingSupplier<T> {
+        T get() throws Exception;
+    }
+}
@@ -0,0 +1,219 @@
+package com.jira.explorer.service;
+
+import com.google.gson.JsonArray;
+import com.jira.explorer.model.JiraConfig;
+import com.jira.explorer.model.JiraIssue;
+import com.jira.explorer.model.SearchQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fetches complete changelogs for many issues with a bounded number of requests in flight
+ * On Cloud, issues are fetched a thousand at a time through the bulk changelog endpoint; when it is
+ * unavailable, and on Server, each issue's changelog is paged on its own. Changelogs are cached by
+ * issue key and updated time, so an issue that has not changed since is never fetched again.
+ * Callers usually hold the issues already and pass them in, which supplies the ids the bulk endpoint
+ * needs and the updated times; {@link #fetchByKeys(Collection)} looks both up first.
+ * Worker calls run under the caller's call scope, so cancelling the caller's operation cancels them.
+ */
+public class ChangelogFetcher implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ChangelogFetcher.class);
+
+    private final JiraApiClient client;
+    private final List<String> fieldIds;
+    private final int maxInFlight;
+    private final Map<String, JsonArray> cache;
+    private final ExecutorService workers;
+    private volatile boolean bulkSupported = true;
+
+    public ChangelogFetcher(JiraApiClient client) {
+        this(client, List.of());
+    }
+
+    /**
+     * @param fieldIds only fetch changes to these fields (e.g. "status") where the bulk endpoint
+     *                 allows it, empty for all; per-issue fetches always return every field
+     */
+    public ChangelogFetcher(JiraApiClient client, List<String> fieldIds) {
+        JiraConfig config = client.getConfig();
+        this.client = client;
+        this.fieldIds = List.copyOf(fieldIds);
+        this.maxInFlight = config.getChangelogConcurrency();
+        int cacheSize = config.getChangelogCacheSize();
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, JsonArray> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(maxInFlight, runnable -> {
+            Thread thread = new Thread(runnable, "changelog-fetch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Complete changelog histories of the issues with these keys, by issue key
+     * Costs one extra key search per hundred keys for the ids and updated times; keys not found are absent.
+     */
+    public Map<String, JsonArray> fetchByKeys(Collection<String> keys) throws IOException {
+        return fetch(client.searchByKeys(keys, new SearchQuery("", List.of("updated"), "")));
+    }
+
+    /**
+     * Complete changelog histories of the issues, by issue key
+     */
+    public Map<String, JsonArray> fetch(Collection<JiraIssue> issues) throws IOException {
+        Map<String, JsonArray> changelogs = new ConcurrentHashMap<>();
+        List<JiraIssue> missing = new ArrayList<>();
+        synchronized (cache) {
+            for (JiraIssue issue : issues) {
+                String cacheKey = cacheKey(issue);
+                JsonArray cached = cacheKey != null ? cache.get(cacheKey) : null;
+                if (cached != null) {
+                    changelogs.put(issue.getKey(), cached);
+                } else {
+                    missing.add(issue);
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return changelogs;
+        }
+
+        List<JiraIssue> remaining = missing;
+        if (bulkSupported && client.getConfig().getApiVersion() == JiraConfig.ApiVersion.CLOUD_CURRENT) {
+            remaining = fetchBulk(missing, changelogs);
+        }
+        if (!remaining.isEmpty()) {
+            List<Callable<Void>> tasks = new ArrayList<>(remaining.size());
+            for (JiraIssue issue : remaining) {
+                tasks.add(() -> {
+                    store(issue, client.getChangelog(issue.getKey()), changelogs);
+                    return null;
+                });
+            }
+            runAll(tasks);
+        }
+        logger.debug("Fetched {} changelogs, {} from cache", missing.size(), issues.size() - missing.size());
+        return changelogs;
+    }
+
+    /**
+     * Fetch through the bulk endpoint and return the issues left to fetch one by one
+     */
+    private List<JiraIssue> fetchBulk(List<JiraIssue> issues, Map<String, JsonArray> changelogs) throws IOException {
+        List<List<JiraIssue>> chunks = new ArrayList<>();
+        for (int i = 0; i < issues.size(); i += JiraApiClient.BULK_CHANGELOG_ISSUES) {
+            chunks.add(issues.subList(i, Math.min(issues.size(), i + JiraApiClient.BULK_CHANGELOG_ISSUES)));
+        }
+        List<JiraIssue> unsupported = new ArrayList<>();
+        List<Callable<Void>> tasks = new ArrayList<>(chunks.size());
+        for (List<JiraIssue> chunk : chunks) {
+            tasks.add(() -> {
+                Map<String, JiraIssue> byId = new HashMap<>();
+                for (JiraIssue issue : chunk) {
+                    byId.put(issue.getId(), issue);
+                }
+                Map<String, JsonArray> fetched = bulkSupported
+                        ? client.bulkFetchChangelogs(new ArrayList<>(byId.keySet()), fieldIds) : null;
+                if (fetched == null) {
+                    bulkSupported = false;
+                    synchronized (unsupported) {
+                        unsupported.addAll(chunk);
+                    }
+                    return null;
+                }
+                // Issues without any matching change are left out of the response
+                byId.forEach((id, issue) -> store(issue, fetched.getOrDefault(id, new JsonArray()), changelogs));
+                return null;
+            });
+        }
+        runAll(tasks);
+        return unsupported;
+    }
+
+    private void store(JiraIssue issue, JsonArray histories, Map<String, JsonArray> changelogs) {
+        changelogs.put(issue.getKey(), histories);
+        String cacheKey = cacheKey(issue);
+        if (cacheKey != null) {
+            synchronized (cache) {
+                cache.put(cacheKey, histories);
+            }
+        }
+    }
+
+    /**
+     * Run the tasks at most maxInFlight at a time and rethrow the first failure
+     * Their calls are tagged with the caller's scope, or a scope of their own that is cancelled when
+     * the caller is interrupted or a task fails, so no download outlives the fetch.
+     */
+    private void runAll(List<Callable<Void>> tasks) throws IOException {
+        CallScope callerScope = CallScope.current();
+        CallScope scope = callerScope != null ? callerScope : new CallScope();
+        List<Future<Void>> futures = new ArrayList<>(tasks.size());
+        for (Callable<Void> task : tasks) {
+            futures.add(workers.submit(() -> scope.run(task::call)));
+        }
+        try {
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            client.cancel(scope);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Changelog fetch interrupted");
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (scope != callerScope) {
+                client.cancel(scope);
+            }
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Changelog fetch failed", e.getCause());
+        }
+    }
+
+    /**
+     * Issues without an updated time are never cached, their changelog could not be told stale
+     */
+    private static String cacheKey(JiraIssue issue) {
+        String updated = issue.getUpdated();
+        return updated != null ? issue.getKey() + "@" + updated : null;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public int getCacheSize() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+}
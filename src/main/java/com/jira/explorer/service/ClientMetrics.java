@@ -0,0 +1,342 @@
+package com.jira.explorer.service;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics for the HTTP/parse pipeline of a JiraApiClient
+ * Installed as an OkHttp network interceptor, so every attempt (including throttled ones) is
+ * measured. Each request is split into time to first byte, time spent waiting on body reads
+ * (download) and the remaining time until the body is closed (JSON parsing and issue construction).
+ * Published over JMX as com.jira.explorer:type=JiraApiClient,name=client-N.
+ */
+public class ClientMetrics implements Interceptor, ClientMetricsMXBean {
+    private static final Logger logger = LoggerFactory.getLogger(ClientMetrics.class);
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    private final RequestThrottle throttle;
+    private final Map<String, LatencyHistogram> endpoints = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder ttfbNanos = new LongAdder();
+    private final LongAdder downloadNanos = new LongAdder();
+    private final LongAdder parseNanos = new LongAdder();
+    private final LongAdder completedBodies = new LongAdder();
+    private final LongAdder issuesParsed = new LongAdder();
+    // Wall time with at least one search in flight, guarded by this; parallel pages overlap in it
+    private int activeSearches;
+    private long busySince;
+    private long busyNanos;
+    private ObjectName objectName;
+
+    public ClientMetrics(RequestThrottle throttle) {
+        this.throttle = throttle;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        String endpoint = endpointLabel(request);
+        boolean search = request.url().encodedPath().contains("/search");
+        long start = System.nanoTime();
+        if (search) {
+            searchStarted(start);
+        }
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException | RuntimeException e) {
+            long end = System.nanoTime();
+            requests.increment();
+            errors.increment();
+            endpoints.computeIfAbsent(endpoint, key -> new LatencyHistogram()).record((end - start) / 1_000_000);
+            if (search) {
+                searchEnded(end);
+            }
+            throw e;
+        }
+        long headersAt = System.nanoTime();
+        requests.increment();
+        ttfbNanos.add(headersAt - start);
+        if (!response.isSuccessful()) {
+            errors.increment();
+        }
+        if (response.body() == null) {
+            if (search) {
+                searchEnded(headersAt);
+            }
+            return response;
+        }
+        return response.newBuilder()
+                .body(new MeteredBody(response.body(), endpoint, start, headersAt, search))
+                .build();
+    }
+
+    private synchronized void searchStarted(long now) {
+        if (activeSearches++ == 0) {
+            busySince = now;
+        }
+    }
+
+    private synchronized void searchEnded(long now) {
+        if (--activeSearches == 0) {
+            busyNanos += now - busySince;
+        }
+    }
+
+    /**
+     * Record the number of issues parsed from a search response
+     */
+    void recordIssuesParsed(int count) {
+        issuesParsed.add(count);
+    }
+
+    /**
+     * Normalized endpoint name, e.g. "GET /issue/{key}"
+     */
+    static String endpointLabel(Request request) {
+        String path = request.url().encodedPath().replaceFirst("^/rest/api/\\d+", "");
+        path = path.replaceAll("/issue/[^/]+", "/issue/{key}");
+        return request.method() + " " + path;
+    }
+
+    /**
+     * One-line summary for the status bar
+     */
+    public String summary() {
+        long count = getRequestCount();
+        if (count == 0) {
+            return "";
+        }
+        long p50 = 0;
+        long p99 = 0;
+        for (LatencyHistogram histogram : endpoints.values()) {
+            p50 = Math.max(p50, histogram.percentile(0.5));
+            p99 = Math.max(p99, histogram.percentile(0.99));
+        }
+        return String.format("%d req | p50 %d ms, p99 %d ms | TTFB %.0f ms, download %.0f ms, parse %.0f ms | %.0f issues/s | %s/resp | 429: %d",
+                count, p50, p99, getMeanTimeToFirstByteMillis(), getMeanDownloadMillis(), getMeanParseMillis(),
+                getIssuesPerSecond(), formatBytes((long) getMeanBytesPerResponse()), getThrottledResponses());
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) return bytes + " B";
+        if (bytes < 1024 * 1024) return String.format("%.1f KB", bytes / 1024.0);
+        return String.format("%.1f MB", bytes / (1024.0 * 1024));
+    }
+
+    /**
+     * Publish over JMX; failures are logged and otherwise ignored
+     */
+    public void register() {
+        FlattenMetrics.register();
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            objectName = new ObjectName("com.jira.explorer:type=JiraApiClient,name=client-" + INSTANCES.incrementAndGet());
+            server.registerMBean(this, objectName);
+        } catch (Exception e) {
+            logger.warn("Could not register client metrics MBean", e);
+            objectName = null;
+        }
+    }
+
+    public void unregister() {
+        if (objectName == null) return;
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (Exception e) {
+            logger.debug("Could not unregister client metrics MBean", e);
+        }
+        objectName = null;
+    }
+
+    @Override
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    @Override
+    public long getBytesRead() {
+        return bytesRead.sum();
+    }
+
+    @Override
+    public double getMeanBytesPerResponse() {
+        long count = completedBodies.sum();
+        return count == 0 ? 0 : (double) bytesRead.sum() / count;
+    }
+
+    @Override
+    public double getMeanTimeToFirstByteMillis() {
+        long count = requests.sum();
+        return count == 0 ? 0 : ttfbNanos.sum() / 1e6 / count;
+    }
+
+    @Override
+    public double getMeanDownloadMillis() {
+        long count = completedBodies.sum();
+        return count == 0 ? 0 : downloadNanos.sum() / 1e6 / count;
+    }
+
+    @Override
+    public double getMeanParseMillis() {
+        long count = completedBodies.sum();
+        return count == 0 ? 0 : parseNanos.sum() / 1e6 / count;
+    }
+
+    @Override
+    public long getIssuesParsed() {
+        return issuesParsed.sum();
+    }
+
+    @Override
+    public double getIssuesPerSecond() {
+        long nanos;
+        synchronized (this) {
+            nanos = busyNanos + (activeSearches > 0 ? System.nanoTime() - busySince : 0);
+        }
+        return nanos == 0 ? 0 : issuesParsed.sum() / (nanos / 1e9);
+    }
+
+    @Override
+    public long getThrottledResponses() {
+        return throttle != null ? throttle.getThrottledResponses() : 0;
+    }
+
+    @Override
+    public long getRetries() {
+        return throttle != null ? throttle.getRetries() : 0;
+    }
+
+    @Override
+    public double getConcurrencyLimit() {
+        return throttle != null ? throttle.getConcurrencyLimit() : 0;
+    }
+
+    @Override
+    public Map<String, String> getEndpointLatencies() {
+        Map<String, String> result = new TreeMap<>();
+        endpoints.forEach((endpoint, histogram) -> result.put(endpoint, histogram.toString()));
+        return result;
+    }
+
+    @Override
+    public void reset() {
+        endpoints.clear();
+        requests.reset();
+        errors.reset();
+        bytesRead.reset();
+        ttfbNanos.reset();
+        downloadNanos.reset();
+        parseNanos.reset();
+        completedBodies.reset();
+        issuesParsed.reset();
+        synchronized (this) {
+            busyNanos = 0;
+            busySince = System.nanoTime();
+        }
+    }
+
+    /**
+     * Response body that measures read time and bytes, and records the request when closed
+     */
+    private final class MeteredBody extends ResponseBody {
+        private final ResponseBody delegate;
+        private final String endpoint;
+        private final long start;
+        private final long headersAt;
+        private final boolean search;
+        private BufferedSource source;
+        private long readNanos;
+        private long bytes;
+        private boolean recorded;
+
+        MeteredBody(ResponseBody delegate, String endpoint, long start, long headersAt, boolean search) {
+            this.delegate = delegate;
+            this.endpoint = endpoint;
+            this.start = start;
+            this.headersAt = headersAt;
+            this.search = search;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public BufferedSource source() {
+            if (source == null) {
+                source = Okio.buffer(new ForwardingSource(delegate.source()) {
+                    @Override
+                    public long read(Buffer sink, long byteCount) throws IOException {
+                        long readStart = System.nanoTime();
+                        long read = super.read(sink, byteCount);
+                        readNanos += System.nanoTime() - readStart;
+                        if (read > 0) {
+                            bytes += read;
+                        }
+                        return read;
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        super.close();
+                        record();
+                    }
+                });
+            }
+            return source;
+        }
+
+        @Override
+        public void close() {
+            super.close();
+            record();
+        }
+
+        private synchronized void record() {
+            if (recorded) return;
+            recorded = true;
+            long end = System.nanoTime();
+            bytesRead.add(bytes);
+            downloadNanos.add(readNanos);
+            parseNanos.add(Math.max(0, end - headersAt - readNanos));
+            completedBodies.increment();
+            if (search) {
+                searchEnded(end);
+            }
+            endpoints.computeIfAbsent(endpoint, key -> new LatencyHistogram()).record((end - start) / 1_000_000);
+        }
+    }
+}
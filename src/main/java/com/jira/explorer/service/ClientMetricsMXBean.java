@@ -0,0 +1,43 @@
+package com.jira.explorer.service;
+
+import java.util.Map;
+
+/**
+ * JMX view of the JiraApiClient request pipeline metrics
+ */
+public interface ClientMetricsMXBean {
+
+    long getRequestCount();
+
+    long getErrorCount();
+
+    long getBytesRead();
+
+    double getMeanBytesPerResponse();
+
+    double getMeanTimeToFirstByteMillis();
+
+    double getMeanDownloadMillis();
+
+    double getMeanParseMillis();
+
+    long getIssuesParsed();
+
+    /**
+     * Issues parsed per second of wall time with at least one search request in flight
+     */
+    double getIssuesPerSecond();
+
+    long getThrottledResponses();
+
+    long getRetries();
+
+    double getConcurrencyLimit();
+
+    /**
+     * Latency summary per endpoint (count, mean, p50, p99, max)
+     */
+    Map<String, String> getEndpointLatencies();
+
+    void reset();
+}
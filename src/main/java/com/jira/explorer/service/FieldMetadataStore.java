@@ -0,0 +1,127 @@
+package com.jira.explorer.service;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.jira.explorer.model.JiraConfig;
+import com.jira.explorer.model.JiraField;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * On-disk copy of the /field metadata of a Jira instance
+ * Keeps the validators (ETag, Last-Modified) of the response it was read from so it can be
+ * revalidated with a conditional request instead of downloading the full list again.
+ */
+public class FieldMetadataStore {
+    private static final Logger logger = LoggerFactory.getLogger(FieldMetadataStore.class);
+
+    private final Path file;
+
+    public FieldMetadataStore(JiraConfig config) {
+        String instanceKey = config.getApiVersion().name() + "|" + config.getJiraUrl();
+        this.file = config.getCacheDir().resolve("fields").resolve(IssueStore.sha256(instanceKey).substring(0, 16) + ".json");
+    }
+
+    /**
+     * Field metadata together with the HTTP validators it was served with
+     */
+    public static class Snapshot {
+        private final Map<String, JiraField> fields;
+        private final String etag;
+        private final String lastModified;
+        private final long fetchedAt;
+
+        public Snapshot(Map<String, JiraField> fields, String etag, String lastModified, long fetchedAt) {
+            this.fields = Collections.unmodifiableMap(new LinkedHashMap<>(fields));
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.fetchedAt = fetchedAt;
+        }
+
+        public Map<String, JiraField> getFields() {
+            return fields;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        public long getFetchedAt() {
+            return fetchedAt;
+        }
+
+        public boolean hasValidators() {
+            return etag != null || lastModified != null;
+        }
+
+        public Snapshot touch(long now) {
+            return new Snapshot(fields, etag, lastModified, now);
+        }
+    }
+
+    /**
+     * Load the stored metadata, or null if there is none
+     */
+    public Snapshot load() {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            JsonObject json = JsonParser.parseReader(reader).getAsJsonObject();
+            Map<String, JiraField> fields = new LinkedHashMap<>();
+            for (JsonElement element : json.getAsJsonArray("fields")) {
+                JiraField field = JiraField.fromJson(element.getAsJsonObject());
+                fields.put(field.getId(), field);
+            }
+            return new Snapshot(fields, string(json, "etag"), string(json, "lastModified"), json.get("fetchedAt").getAsLong());
+        } catch (Exception e) {
+            logger.warn("Ignoring unreadable field metadata cache {}", file, e);
+            return null;
+        }
+    }
+
+    public void save(Snapshot snapshot) throws IOException {
+        JsonObject json = new JsonObject();
+        json.addProperty("etag", snapshot.getEtag());
+        json.addProperty("lastModified", snapshot.getLastModified());
+        json.addProperty("fetchedAt", snapshot.getFetchedAt());
+        JsonArray fields = new JsonArray();
+        for (JiraField field : snapshot.getFields().values()) {
+            fields.add(field.toJson());
+        }
+        json.add("fields", fields);
+
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), "fields", ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writer.write(json.toString());
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String string(JsonObject obj, String name) {
+        JsonElement value = obj.get(name);
+        return value != null && !value.isJsonNull() ? value.getAsString() : null;
+    }
+}
@@ -0,0 +1,48 @@
+package com.jira.explorer.service;
+
+import com.jira.explorer.model.JiraIssue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Process-wide field flattening statistics
+ * Issues are flattened lazily, by whoever displays or exports them, long after the client that
+ * downloaded them is done, so the counts belong to the JVM rather than to a client. Published once
+ * over JMX as com.jira.explorer:type=JiraIssue,name=flatten.
+ */
+public final class FlattenMetrics implements FlattenMetricsMXBean {
+    private static final Logger logger = LoggerFactory.getLogger(FlattenMetrics.class);
+    private static final FlattenMetrics INSTANCE = new FlattenMetrics();
+    private static boolean registered;
+
+    private FlattenMetrics() {
+    }
+
+    /**
+     * Publish over JMX unless already published; failures are logged and otherwise ignored
+     */
+    public static synchronized void register() {
+        if (registered) return;
+        registered = true;
+        try {
+            ManagementFactory.getPlatformMBeanServer()
+                    .registerMBean(INSTANCE, new ObjectName("com.jira.explorer:type=JiraIssue,name=flatten"));
+        } catch (Exception e) {
+            logger.warn("Could not register flatten metrics MBean", e);
+        }
+    }
+
+    @Override
+    public long getFlattenCount() {
+        return JiraIssue.getFlattenCount();
+    }
+
+    @Override
+    public double getMeanFlattenMicros() {
+        long count = JiraIssue.getFlattenCount();
+        return count == 0 ? 0 : JiraIssue.getFlattenNanos() / 1e3 / count;
+    }
+}
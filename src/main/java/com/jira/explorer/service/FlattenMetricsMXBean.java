@@ -0,0 +1,11 @@
+package com.jira.explorer.service;
+
+/**
+ * JMX view of the field flattening done on issues, across every client of the JVM
+ */
+public interface FlattenMetricsMXBean {
+
+    long getFlattenCount();
+
+    double getMeanFlattenMicros();
+}
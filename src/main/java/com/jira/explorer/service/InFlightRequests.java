@@ -0,0 +1,70 @@
+package com.jira.explorer.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent requests onto a single in-flight operation
+ * Every caller gets its own future; cancelling it only detaches that caller, the shared
+ * operation is cancelled once all of its callers have cancelled.
+ */
+class InFlightRequests<K, V> {
+    private final Map<K, Shared<V>> inFlight = new HashMap<>();
+
+    private static final class Shared<V> {
+        private final CompletableFuture<V> source;
+        private int subscribers;
+
+        private Shared(CompletableFuture<V> source) {
+            this.source = source;
+        }
+    }
+
+    /**
+     * Join the in-flight operation for the key, starting it if there is none
+     */
+    synchronized CompletableFuture<V> join(K key, Supplier<CompletableFuture<V>> starter) {
+        Shared<V> shared = inFlight.get(key);
+        if (shared == null) {
+            Shared<V> started = new Shared<>(starter.get());
+            inFlight.put(key, started);
+            started.source.whenComplete((value, error) -> remove(key, started));
+            shared = started;
+        }
+        shared.subscribers++;
+
+        Shared<V> joined = shared;
+        CompletableFuture<V> view = new CompletableFuture<>();
+        joined.source.whenComplete((value, error) -> {
+            if (error != null) {
+                view.completeExceptionally(error);
+            } else {
+                view.complete(value);
+            }
+        });
+        view.whenComplete((value, error) -> {
+            if (view.isCancelled()) {
+                release(key, joined);
+            }
+        });
+        return view;
+    }
+
+    synchronized int size() {
+        return inFlight.size();
+    }
+
+    private synchronized void release(K key, Shared<V> shared) {
+        shared.subscribers--;
+        if (shared.subscribers <= 0 && !shared.source.isDone()) {
+            remove(key, shared);
+            shared.source.cancel(true);
+        }
+    }
+
+    private synchronized void remove(K key, Shared<V> shared) {
+        inFlight.remove(key, shared);
+    }
+}
@@ -0,0 +1,326 @@
+package com.jira.explorer.service;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.jira.explorer.model.JiraField;
+import com.jira.explorer.model.JiraIssue;
+import com.jira.explorer.model.SearchQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Writes issues to a CSV or NDJSON file as search pages arrive
+ * Each row is encoded straight into a fixed direct buffer that is flushed to a file channel, and
+ * issues are not kept once written, so heap use does not depend on the number of issues.
+ * Columns are the issue key followed by the flattened fields: the query's field projection when
+ * it lists fields explicitly, otherwise every field seen in the first page. CSV headers use the
+ * display names from the field metadata; NDJSON lines are keyed by field id.
+ */
+public class IssueExporter implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(IssueExporter.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public enum Format {
+        CSV, NDJSON;
+
+        /**
+         * Format matching the file extension, CSV unless it is .ndjson or .jsonl
+         */
+        public static Format fromPath(Path path) {
+            String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+            return name.endsWith(".ndjson") || name.endsWith(".jsonl") ? NDJSON : CSV;
+        }
+    }
+
+    private final FileChannel channel;
+    private final Format format;
+    private final Map<String, JiraField> fieldMetadata;
+    private final ByteBuffer bytes = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final StringBuilder row = new StringBuilder(1024);
+    private final Gson gson = new Gson();
+    private final Set<String> ignoredColumns = new HashSet<>();
+    private List<String> columns;
+    private Set<String> columnSet;
+    private boolean headerWritten;
+    private long written;
+
+    /**
+     * @param fieldMetadata field metadata by id, as returned by JiraApiClient.getFieldMetadata(), may be empty
+     */
+    public IssueExporter(Path path, Format format, Map<String, JiraField> fieldMetadata) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.format = format;
+        this.fieldMetadata = fieldMetadata != null ? fieldMetadata : Collections.emptyMap();
+    }
+
+    /**
+     * Export every issue of the query to the file, page by page
+     *
+     * @param onProgress receives the number of issues written after each page
+     * @return number of issues written
+     */
+    public static long export(JiraApiClient client, SearchQuery query, Path path, Format format,
+                              LongConsumer onProgress) throws IOException {
+        return export(client, query, query, path, format, onProgress, page -> { });
+    }
+
+    /**
+     * Export the issues of a query while another consumer reads the same pages, downloading them once
+     *
+     * @param searchQuery query actually searched: the exported one with any fields or expansions onPage
+     *                    needs added, which are not exported
+     * @param onPage      receives every page once written; may throw UncheckedIOException
+     */
+    public static long export(JiraApiClient client, SearchQuery query, SearchQuery searchQuery, Path path,
+                              Format format, LongConsumer onProgress, Consumer<List<JiraIssue>> onPage) throws IOException {
+        try (IssueExporter exporter = new IssueExporter(path, format, fieldMetadata(client));
+             SearchPager pager = client.pages(searchQuery)) {
+            exporter.setColumns(explicitFields(query));
+            while (pager.hasNext()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("Export interrupted");
+                }
+                List<JiraIssue> page = pager.next().getIssues();
+                exporter.writePage(page);
+                onPage.accept(page);
+                onProgress.accept(exporter.getWritten());
+            }
+            logger.info("Exported {} issues to {} ({})", exporter.getWritten(), path, format);
+            return exporter.getWritten();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Export issues already loaded for the query, with the columns a streamed export would have
+     */
+    public static long export(JiraApiClient client, SearchQuery query, List<JiraIssue> issues, Path path,
+                              Format format) throws IOException {
+        try (IssueExporter exporter = new IssueExporter(path, format, fieldMetadata(client))) {
+            exporter.setColumns(explicitFields(query));
+            exporter.writePage(issues);
+            return exporter.getWritten();
+        }
+    }
+
+    private static Map<String, JiraField> fieldMetadata(JiraApiClient client) {
+        try {
+            return client.getFieldMetadata();
+        } catch (IOException e) {
+            logger.warn("Field metadata unavailable, exporting field ids as headers: {}", e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * Fix the exported fields before the first page; by default they are taken from the first page
+     */
+    public void setColumns(List<String> fieldIds) {
+        if (written > 0) {
+            throw new IllegalStateException("Columns are fixed once issues have been written");
+        }
+        columns = fieldIds != null ? List.copyOf(fieldIds) : null;
+    }
+
+    public void writePage(List<JiraIssue> issues) throws IOException {
+        if (issues.isEmpty()) {
+            return;
+        }
+        if (columns == null) {
+            Set<String> seen = new LinkedHashSet<>();
+            for (JiraIssue issue : issues) {
+                seen.addAll(issue.getFlattenedFields().keySet());
+            }
+            columns = new ArrayList<>(seen);
+        }
+        if (columnSet == null) {
+            columnSet = new HashSet<>(columns);
+        }
+        if (!headerWritten && format == Format.CSV) {
+            writeHeader();
+        }
+        for (JiraIssue issue : issues) {
+            Map<String, Object> values = issue.getFlattenedFields();
+            if (!columnSet.containsAll(values.keySet())) {
+                noteIgnored(values.keySet());
+            }
+            if (format == Format.CSV) {
+                appendCsv(issue.getKey());
+                for (String column : columns) {
+                    row.append(',');
+                    Object value = values.get(column);
+                    appendCsv(value != null ? value.toString() : "");
+                }
+                row.append("\r\n");
+            } else {
+                JsonObject line = new JsonObject();
+                line.addProperty("key", issue.getKey());
+                for (String column : columns) {
+                    Object value = values.get(column);
+                    line.addProperty(column, value != null ? value.toString() : null);
+                }
+                gson.toJson(line, row);
+                row.append('\n');
+            }
+            encodeRow();
+            written++;
+        }
+    }
+
+    public long getWritten() {
+        return written;
+    }
+
+    /**
+     * Fields present in some issues but not exported, because the columns were already fixed
+     */
+    public Set<String> getIgnoredColumns() {
+        return Collections.unmodifiableSet(ignoredColumns);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (channel.isOpen()) {
+                // An empty CSV export still gets its header, so it cannot be mistaken for a failed one
+                if (!headerWritten && format == Format.CSV) {
+                    if (columns == null) {
+                        columns = List.of();
+                    }
+                    writeHeader();
+                }
+                drain();
+            }
+        } finally {
+            channel.close();
+        }
+        if (!ignoredColumns.isEmpty()) {
+            logger.warn("Fields outside the exported columns were skipped: {}", ignoredColumns);
+        }
+    }
+
+    private void writeHeader() throws IOException {
+        // Byte order mark, so spreadsheets detect UTF-8
+        row.append('\uFEFF');
+        appendCsv("Key");
+        for (String column : columns) {
+            JiraField field = fieldMetadata.get(column);
+            row.append(',');
+            appendCsv(field != null ? field.getDisplayName() : column);
+        }
+        row.append("\r\n");
+        encodeRow();
+        headerWritten = true;
+    }
+
+    private void noteIgnored(Set<String> fields) {
+        for (String field : fields) {
+            if (!columnSet.contains(field)) {
+                ignoredColumns.add(field);
+            }
+        }
+    }
+
+    /**
+     * Append a CSV value, quoted when it contains a separator, quote or line break
+     */
+    private void appendCsv(String value) {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            row.append(value);
+            return;
+        }
+        row.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                row.append('"');
+            }
+            row.append(c);
+        }
+        row.append('"');
+    }
+
+    /**
+     * Encode the pending row into the byte buffer, flushing it to the channel whenever it fills up
+     */
+    private void encodeRow() throws IOException {
+        CharBuffer chars = CharBuffer.wrap(row);
+        while (true) {
+            CoderResult result = encoder.encode(chars, bytes, true);
+            if (result.isOverflow()) {
+                drain();
+            } else if (result.isUnderflow()) {
+                break;
+            } else {
+                result.throwException();
+            }
+        }
+        while (encoder.flush(bytes).isOverflow()) {
+            drain();
+        }
+        encoder.reset();
+        row.setLength(0);
+    }
+
+    private void drain() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        bytes.clear();
+    }
+
+    /**
+     * Fields listed by the query, or null when it asks for a wildcard set (*all, *navigable) or exclusions
+     */
+    private static List<String> explicitFields(SearchQuery query) {
+        List<String> fields = query.getFields();
+        if (fields == null || fields.isEmpty()) {
+            return null;
+        }
+        List<String> explicit = new ArrayList<>();
+        for (String field : fields) {
+            if (field.startsWith("*") || field.startsWith("-")) {
+                return null;
+            }
+            if (!field.equals("key")) {
+                explicit.add(field);
+            }
+        }
+        return explicit;
+    }
+}
@@ -0,0 +1,156 @@
+package com.jira.explorer.service;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.jira.explorer.model.JiraConfig;
+import com.jira.explorer.model.JiraIssue;
+import com.jira.explorer.model.SearchQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * File-based store of search results, one gzipped NDJSON file per query and Jira instance
+ * The first line holds the query and the time of the last sync, each following line one issue.
+ * Issues are keyed by issue key and carry their "updated" timestamp, so a sync only has to
+ * fetch what changed since the previous run.
+ */
+public class IssueStore {
+    private static final Logger logger = LoggerFactory.getLogger(IssueStore.class);
+
+    private final Path directory;
+    private final String instanceKey;
+    private final Gson gson = new Gson();
+
+    public IssueStore(JiraConfig config) {
+        this.instanceKey = config.getApiVersion().name() + "|" + config.getJiraUrl();
+        this.directory = config.getCacheDir().resolve("issues").resolve(sha256(instanceKey).substring(0, 16));
+    }
+
+    /**
+     * Cached result of a query
+     */
+    public static class Snapshot {
+        private final long lastSync;
+        private final Map<String, JiraIssue> issues;
+
+        public Snapshot(long lastSync, Map<String, JiraIssue> issues) {
+            this.lastSync = lastSync;
+            this.issues = issues;
+        }
+
+        /**
+         * Epoch millis at which the cached issues were known to be current
+         */
+        public long getLastSync() {
+            return lastSync;
+        }
+
+        /**
+         * Cached issues by key, in result order
+         */
+        public Map<String, JiraIssue> getIssues() {
+            return issues;
+        }
+    }
+
+    /**
+     * Load the cached result of a query, or null if it was never synced
+     */
+    public Snapshot load(SearchQuery query) {
+        Path file = fileFor(query);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            JsonObject header = JsonParser.parseString(reader.readLine()).getAsJsonObject();
+            if (!query.getJql().equals(header.get("jql").getAsString())) {
+                // Hash collision or a file from another query, treat as missing
+                return null;
+            }
+            long lastSync = header.get("lastSync").getAsLong();
+
+            Map<String, JiraIssue> issues = new LinkedHashMap<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                JiraIssue issue = new JiraIssue(JsonParser.parseString(line).getAsJsonObject());
+                issues.put(issue.getKey(), issue);
+            }
+            logger.info("Loaded {} cached issues for {}", issues.size(), query.getJql());
+            return new Snapshot(lastSync, issues);
+        } catch (Exception e) {
+            logger.warn("Ignoring unreadable issue cache {}", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Replace the cached result of a query
+     */
+    public void save(SearchQuery query, long lastSync, Collection<JiraIssue> issues) throws IOException {
+        Files.createDirectories(directory);
+        Path file = fileFor(query);
+        Path temp = Files.createTempFile(directory, "sync", ".tmp");
+        try {
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8))) {
+                JsonObject header = new JsonObject();
+                header.addProperty("jql", query.getJql());
+                header.addProperty("query", query.toString());
+                header.addProperty("lastSync", lastSync);
+                writer.write(gson.toJson(header));
+                writer.write('\n');
+                for (JiraIssue issue : issues) {
+                    writer.write(gson.toJson(issue.toJson()));
+                    writer.write('\n');
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Drop the cached result of a query
+     */
+    public void invalidate(SearchQuery query) throws IOException {
+        Files.deleteIfExists(fileFor(query));
+    }
+
+    private Path fileFor(SearchQuery query) {
+        return directory.resolve(sha256(instanceKey + "\n" + query) + ".ndjson.gz");
+    }
+
+    static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -2,19 +2,45 @@ package com.jira.explorer.service;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.jira.explorer.model.IssueColumnStore;
 import com.jira.explorer.model.JiraConfig;
+import com.jira.explorer.model.JiraField;
 import com.jira.explorer.model.JiraIssue;
+import com.jira.explorer.model.SearchPage;
+import com.jira.explorer.model.SearchQuery;
 import okhttp3.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Client for interacting with Jira REST API v2/v3
@@ -23,39 +49,446 @@ import java.util.concurrent.TimeUnit;
 public class JiraApiClient {
     private static final Logger logger = LoggerFactory.getLogger(JiraApiClient.class);
     private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+    // Key-only passes carry almost no payload, so use the largest page Jira accepts
+    private static final int KEY_PAGE_SIZE = 1000;
+    // Keys per "key in (...)" search, short enough for a Cloud GET URL and a single Server page
+    public static final int KEY_CHUNK_SIZE = 100;
+    private static final int CHANGELOG_PAGE_SIZE = 100;
+    public static final int BULK_CHANGELOG_ISSUES = 1000;
+    private static final int BULK_CHANGELOG_PAGE_SIZE = 1000;
+    private static final int BACKGROUND_THREADS = 8;
 
     private final OkHttpClient httpClient;
+    private final RequestThrottle throttle;
+    private final ClientMetrics metrics;
     private final JiraConfig config;
     private final Gson gson;
+    private final IssueStore issueStore;
+    private final QueryResultCache queryCache;
+    private final FieldMetadataStore fieldMetadataStore;
+    private FieldMetadataStore.Snapshot fieldMetadata;
+    private final ExecutorService backgroundExecutor;
+    private final InFlightRequests<SearchQuery, List<JiraIssue>> searchRequests = new InFlightRequests<>();
+    private final InFlightRequests<SearchQuery, List<JiraIssue>> syncRequests = new InFlightRequests<>();
 
     public JiraApiClient(JiraConfig config) {
         this.config = config;
         this.gson = new Gson();
+        this.issueStore = config.isCacheEnabled() ? new IssueStore(config) : null;
+        this.fieldMetadataStore = config.isCacheEnabled() ? new FieldMetadataStore(config) : null;
+        this.queryCache = new QueryResultCache(config.getQueryCacheSize(), config.getQueryCacheTtlSeconds() * 1000L);
+        // Every request goes through the shared throttle, which enforces the adaptive concurrency limit
+        this.throttle = new RequestThrottle(config.getRateLimitPerSecond(), config.getRateLimitBurst(),
+                config.getSearchConcurrency(), config.getMaxConcurrentRequests(), config.getMaxRetries());
+        this.metrics = new ClientMetrics(throttle);
+        this.metrics.register();
+        // Allow parallel page fetches against the single Jira host
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequestsPerHost(Math.max(dispatcher.getMaxRequestsPerHost(),
+                Math.max(config.getSearchConcurrency(), config.getMaxConcurrentRequests())));
         this.httpClient = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .addInterceptor(throttle)
+                .addNetworkInterceptor(metrics)
                 .connectTimeout(30, TimeUnit.SECONDS)
                 .readTimeout(60, TimeUnit.SECONDS)
                 .writeTimeout(30, TimeUnit.SECONDS)
                 .build();
+        // Bounded pool for the blocking operations behind the async API; idle threads time out
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(BACKGROUND_THREADS, BACKGROUND_THREADS, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "jira-client");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        this.backgroundExecutor = executor;
     }
 
     /**
      * Execute JQL query and return list of issues
      * Uses configured API version (v2 for Server 9.12.24, v3 for Cloud)
+     * Only returns a single page; use {@link #streamIssues(String)} to walk every page
      */
     public List<JiraIssue> searchIssues(String jql, int startAt, int maxResults) throws IOException {
+        return searchPage(query(jql), startAt, null, maxResults).getIssues();
+    }
+
+    /**
+     * Execute JQL query requesting only the given fields
+     */
+    public List<JiraIssue> searchIssues(String jql, int startAt, int maxResults, List<String> fields) throws IOException {
+        return searchPage(query(jql).withFields(fields), startAt, null, maxResults).getIssues();
+    }
+
+    /**
+     * Build a query using the configured default field projection and expansions
+     */
+    public SearchQuery query(String jql) {
+        return new SearchQuery(jql, config.getSearchFields(), config.getExpand());
+    }
+
+    /**
+     * Fetch one page of a JQL search
+     * Cloud (v3) pages with nextPageToken, Server (v2) pages with startAt
+     */
+    public SearchPage searchPage(SearchQuery query, int startAt, String nextPageToken, int maxResults) throws IOException {
         logger.info("Using Jira API version: {}", config.getApiVersion().getDisplayName());
-        logger.info("Executing JQL query: {}", jql);
+        logger.info("Executing JQL query: {}", query);
 
+        Request request = buildSearchRequest(query, startAt, nextPageToken, maxResults);
+        try (Response response = newCall(request).execute()) {
+            return readSearchResponse(response, startAt, maxResults);
+        }
+    }
+
+    /**
+     * Fetch one page of a JQL search without blocking the caller
+     * The call runs on the OkHttp dispatcher; cancelling the returned future cancels the HTTP call.
+     */
+    public CompletableFuture<SearchPage> searchPageAsync(SearchQuery query, int startAt, String nextPageToken, int maxResults) {
+        Request request = buildSearchRequest(query, startAt, nextPageToken, maxResults);
+        return enqueue(request, response -> readSearchResponse(response, startAt, maxResults));
+    }
+
+    /**
+     * Fetch every page of a JQL search without blocking the caller
+     * Pages are requested one after another on the OkHttp dispatcher. Identical concurrent searches
+     * share one request chain; cancelling a returned future aborts the in-flight page once no other
+     * caller is waiting for it.
+     */
+    public CompletableFuture<List<JiraIssue>> searchIssuesAsync(SearchQuery query) {
+        return searchRequests.join(query, () -> {
+            CompletableFuture<List<JiraIssue>> result = new CompletableFuture<>();
+            AtomicReference<CompletableFuture<SearchPage>> currentPage = new AtomicReference<>();
+            result.whenComplete((issues, error) -> {
+                CompletableFuture<SearchPage> page = currentPage.get();
+                if (result.isCancelled() && page != null) {
+                    page.cancel(true);
+                }
+            });
+            fetchRemainingPages(query, 0, null, config.getMaxResults(), false, new ArrayList<>(), currentPage, result);
+            return result;
+        });
+    }
+
+    private void fetchRemainingPages(SearchQuery query, int startAt, String nextPageToken, int pageSize, boolean lenient,
+                                     List<JiraIssue> issues, AtomicReference<CompletableFuture<SearchPage>> currentPage,
+                                     CompletableFuture<List<JiraIssue>> result) {
+        Request request = buildSearchRequest(query, startAt, nextPageToken, pageSize, lenient);
+        CompletableFuture<SearchPage> pageFuture = enqueue(request, response -> readSearchResponse(response, startAt, pageSize));
+        currentPage.set(pageFuture);
+        if (result.isCancelled()) {
+            pageFuture.cancel(true);
+            return;
+        }
+        pageFuture.whenComplete((page, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else if (page.isLast()) {
+                issues.addAll(page.getIssues());
+                result.complete(issues);
+            } else {
+                issues.addAll(page.getIssues());
+                int nextStart = page.getStartAt() + page.getIssues().size();
+                fetchRemainingPages(query, nextStart, page.getNextPageToken(), pageSize, lenient, issues, currentPage, result);
+            }
+        });
+    }
+
+    /**
+     * Number of issues matching the JQL, without downloading them
+     * Server answers a search with maxResults=0 and exact totals; Cloud's search has no totals, so the
+     * approximate-count endpoint is used, which may lag recent changes slightly.
+     */
+    public CompletableFuture<Long> countAsync(String jql) {
+        Request request;
+        if (config.getApiVersion() == JiraConfig.ApiVersion.CLOUD_CURRENT) {
+            JsonObject requestBody = new JsonObject();
+            requestBody.addProperty("jql", jql);
+            request = new Request.Builder()
+                    .url(config.getJiraUrl() + config.getApiVersion().getApiPath() + "/search/approximate-count")
+                    .post(RequestBody.create(gson.toJson(requestBody), JSON))
+                    .addHeader("Authorization", getAuthHeader())
+                    .addHeader("Accept", "application/json")
+                    .build();
+            return enqueue(request, response -> {
+                if (!response.isSuccessful()) {
+                    String errorBody = response.body() != null ? response.body().string() : "No error details";
+                    throw new IOException("Count request failed: " + response.code() + " - " + errorBody);
+                }
+                try (Reader body = response.body().charStream()) {
+                    return JsonParser.parseReader(body).getAsJsonObject().get("count").getAsLong();
+                }
+            });
+        }
+        SearchQuery countQuery = new SearchQuery(jql, List.of("key"), "");
+        request = buildSearchRequest(countQuery, 0, null, 0);
+        return enqueue(request, response -> (long) readSearchResponse(response, 0, 0).getTotal());
+    }
+
+    public long count(String jql) throws IOException {
+        return await(countAsync(jql));
+    }
+
+    /**
+     * Count the issues of the JQL for each value of a field (e.g. status, assignee), one count per value in parallel
+     * The field may be an id or a display name. A null or empty value counts the issues where the
+     * field is empty; null and "" are counted once, under the key "".
+     *
+     * @return counts in the order of the values, each distinct value once
+     */
+    public CompletableFuture<Map<String, Long>> countByValuesAsync(String jql, String field, Collection<String> values) {
+        String fieldRef = Jql.field(field);
+        Map<String, CompletableFuture<Long>> counts = new LinkedHashMap<>();
+        for (String value : values) {
+            String key = value != null ? value : "";
+            if (!counts.containsKey(key)) {
+                String condition = key.isEmpty()
+                        ? fieldRef + " is EMPTY"
+                        : fieldRef + " = " + Jql.quote(key);
+                counts.put(key, countAsync(Jql.and(jql, condition)));
+            }
+        }
+
+        CompletableFuture<Map<String, Long>> result = new CompletableFuture<>();
+        CompletableFuture.allOf(counts.values().toArray(new CompletableFuture<?>[0])).whenComplete((ignored, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error instanceof CompletionException ? error.getCause() : error);
+                return;
+            }
+            Map<String, Long> byValue = new LinkedHashMap<>();
+            counts.forEach((value, count) -> byValue.put(value, count.join()));
+            result.complete(byValue);
+        });
+        result.whenComplete((byValue, error) -> {
+            if (error != null) {
+                counts.values().forEach(count -> count.cancel(true));
+            }
+        });
+        return result;
+    }
+
+    public Map<String, Long> countByValues(String jql, String field, Collection<String> values) throws IOException {
+        return await(countByValuesAsync(jql, field, values));
+    }
+
+    /**
+     * Keys of every issue matching the query, fetched with a minimal projection and the largest pages
+     */
+    public List<String> searchKeys(SearchQuery query) throws IOException {
+        SearchQuery keyQuery = query.withFields(List.of("updated")).withExpand("");
+        List<String> keys = new ArrayList<>();
+        for (JiraIssue issue : collect(pages(keyQuery, KEY_PAGE_SIZE))) {
+            keys.add(issue.getKey());
+        }
+        return keys;
+    }
+
+    public CompletableFuture<List<String>> searchKeysAsync(SearchQuery query) {
+        return runAsync(() -> searchKeys(query));
+    }
+
+    /**
+     * Fetch issues by key with concurrent "key in (...)" searches of KEY_CHUNK_SIZE keys
+     * The jql of the template is replaced, its fields and expansions are kept. Chunks are all queued
+     * on the OkHttp dispatcher and share its connection pool and the request throttle. Keys that no
+     * longer exist are skipped on Server (validateQuery=warn); issues come back in no particular order.
+     */
+    public CompletableFuture<List<JiraIssue>> searchByKeysAsync(Collection<String> keys, SearchQuery template) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(keys));
+        List<CompletableFuture<List<JiraIssue>>> chunks = new ArrayList<>();
+        for (int i = 0; i < distinct.size(); i += KEY_CHUNK_SIZE) {
+            SearchQuery chunkQuery = template.withJql(Jql.keyIn(distinct.subList(i, Math.min(distinct.size(), i + KEY_CHUNK_SIZE))));
+            AtomicReference<CompletableFuture<SearchPage>> currentPage = new AtomicReference<>();
+            CompletableFuture<List<JiraIssue>> chunk = new CompletableFuture<>();
+            chunk.whenComplete((issues, error) -> {
+                CompletableFuture<SearchPage> page = currentPage.get();
+                if (chunk.isCancelled() && page != null) {
+                    page.cancel(true);
+                }
+            });
+            fetchRemainingPages(chunkQuery, 0, null, KEY_CHUNK_SIZE, true, new ArrayList<>(), currentPage, chunk);
+            chunks.add(chunk);
+        }
+
+        CompletableFuture<List<JiraIssue>> result = new CompletableFuture<>();
+        CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0])).whenComplete((ignored, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error instanceof CompletionException ? error.getCause() : error);
+                return;
+            }
+            List<JiraIssue> issues = new ArrayList<>(distinct.size());
+            chunks.forEach(chunk -> issues.addAll(chunk.join()));
+            result.complete(issues);
+        });
+        // One failed or cancelled chunk makes the others pointless
+        result.whenComplete((issues, error) -> {
+            if (error != null) {
+                chunks.forEach(chunk -> chunk.cancel(true));
+            }
+        });
+        return result;
+    }
+
+    public List<JiraIssue> searchByKeys(Collection<String> keys, SearchQuery template) throws IOException {
+        return await(searchByKeysAsync(keys, template));
+    }
+
+    /**
+     * Block on a future from this client, cancelling it if the caller is interrupted
+     */
+    private static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for Jira");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Asynchronous variant of {@link #syncIssues(SearchQuery)}
+     * Identical concurrent syncs are coalesced; cancelling the returned future cancels the HTTP
+     * calls of the sync once no other caller is waiting for it.
+     */
+    public CompletableFuture<List<JiraIssue>> syncIssuesAsync(SearchQuery query) {
+        return syncRequests.join(query, () -> runAsync(() -> syncIssues(query)));
+    }
+
+    /**
+     * Asynchronous sync that hands every downloaded page to onPage as soon as it is parsed
+     * Not coalesced, the page callback belongs to a single caller.
+     */
+    public CompletableFuture<List<JiraIssue>> syncIssuesAsync(SearchQuery query, Consumer<SearchPage> onPage) {
+        return runAsync(() -> syncIssues(query, onPage));
+    }
+
+    public CompletableFuture<Map<String, JiraField>> getFieldMetadataAsync() {
+        return runAsync(this::getFieldMetadata);
+    }
+
+    public CompletableFuture<JiraIssue> getIssueAsync(String issueKey, List<String> fields, String expand) {
+        return runAsync(() -> getIssue(issueKey, fields, expand));
+    }
+
+    public CompletableFuture<Boolean> testConnectionAsync() {
+        return runAsync(this::testConnection);
+    }
+
+    /**
+     * Run a blocking operation on the client's background threads
+     * Every HTTP call it makes is tagged with a fresh scope, so cancelling the future cancels them.
+     */
+    private <T> CompletableFuture<T> runAsync(CallScope.ThrowingSupplier<T> operation) {
+        CallScope scope = new CallScope();
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Future<?> task = backgroundExecutor.submit(() -> {
+            try {
+                future.complete(scope.run(operation));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        future.whenComplete((value, error) -> {
+            if (future.isCancelled()) {
+                scope.cancel(httpClient.dispatcher());
+                task.cancel(true);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Enqueue a request on the OkHttp dispatcher; cancelling the returned future cancels the HTTP call
+     */
+    private <T> CompletableFuture<T> enqueue(Request request, ResponseHandler<T> handler) {
+        Call call = newCall(request);
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.whenComplete((value, error) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (response) {
+                    future.complete(handler.handle(response));
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Cancel every call of a scope, queued or running, and any it would make later
+     */
+    void cancel(CallScope scope) {
+        scope.cancel(httpClient.dispatcher());
+    }
+
+    /**
+     * Create a call, tagging it with the current call scope so it can be cancelled with it
+     */
+    private Call newCall(Request request) {
+        CallScope scope = CallScope.current();
+        if (scope == null) {
+            return httpClient.newCall(request);
+        }
+        Call call = httpClient.newCall(request.newBuilder().tag(CallScope.class, scope).build());
+        if (scope.isCancelled()) {
+            call.cancel();
+        }
+        return call;
+    }
+
+    @FunctionalInterface
+    private interface ResponseHandler<T> {
+        T handle(Response response) throws IOException;
+    }
+
+    private Request buildSearchRequest(SearchQuery query, int startAt, String nextPageToken, int maxResults) {
+        return buildSearchRequest(query, startAt, nextPageToken, maxResults, false);
+    }
+
+    /**
+     * @param lenient on Server, only warn about unknown values (e.g. deleted issue keys) instead of failing the search
+     */
+    private Request buildSearchRequest(SearchQuery query, int startAt, String nextPageToken, int maxResults, boolean lenient) {
         Request request;
 
         if (config.getApiVersion() == JiraConfig.ApiVersion.CLOUD_CURRENT) {
             // API v3 (Cloud) uses GET with query parameters on /search/jql endpoint
             String searchEndpoint = config.getApiVersion().getSearchEndpoint();
             HttpUrl.Builder urlBuilder = HttpUrl.parse(config.getJiraUrl() + searchEndpoint).newBuilder();
-            urlBuilder.addQueryParameter("jql", jql);
-            urlBuilder.addQueryParameter("startAt", String.valueOf(startAt));
+            urlBuilder.addQueryParameter("jql", query.getJql());
             urlBuilder.addQueryParameter("maxResults", String.valueOf(maxResults));
-            urlBuilder.addQueryParameter("fields", "*navigable");
+            urlBuilder.addQueryParameter("fields", String.join(",", query.getFields()));
+            if (query.hasExpand()) {
+                urlBuilder.addQueryParameter("expand", query.getExpand());
+            }
+            if (nextPageToken != null) {
+                urlBuilder.addQueryParameter("nextPageToken", nextPageToken);
+            }
 
             String finalUrl = urlBuilder.build().toString();
             logger.info("Cloud API URL: {}", finalUrl);
@@ -72,11 +505,16 @@ public class JiraApiClient {
             String url = config.getJiraUrl() + searchEndpoint;
 
             JsonObject requestBody = new JsonObject();
-            requestBody.addProperty("jql", jql);
+            requestBody.addProperty("jql", query.getJql());
             requestBody.addProperty("startAt", startAt);
             requestBody.addProperty("maxResults", maxResults);
-            requestBody.add("fields", new Gson().toJsonTree(new String[]{"*all"}));
-            requestBody.addProperty("expand", "names,schema");
+            requestBody.add("fields", gson.toJsonTree(query.getFields()));
+            if (query.hasExpand()) {
+                requestBody.addProperty("expand", query.getExpand());
+            }
+            if (lenient) {
+                requestBody.addProperty("validateQuery", "warn");
+            }
 
             String jsonPayload = gson.toJson(requestBody);
             logger.info("Server API payload: {}", jsonPayload);
@@ -91,26 +529,354 @@ public class JiraApiClient {
                     .addHeader("Content-Type", "application/json")
                     .build();
         }
+        return request;
+    }
+
+    private SearchPage readSearchResponse(Response response, int startAt, int maxResults) throws IOException {
+        if (!response.isSuccessful()) {
+            String errorBody = response.body() != null ? response.body().string() : "No error details";
+            throw new IOException("Jira API request failed: " + response.code() + " - " + errorBody);
+        }
+
+        // Parse straight off the socket instead of buffering the body as a String and a JsonObject tree
+        try (Reader body = response.body().charStream()) {
+            SearchPage page = new SearchResponseParser(config.getApiVersion()).parse(body, startAt, maxResults);
+            metrics.recordIssuesParsed(page.getIssues().size());
+            logger.info("Retrieved {} issues", page.getIssues().size());
+            return page;
+        }
+    }
+
+    /**
+     * Lazily walk every page of a JQL search
+     * Server searches prefetch up to jira.searchconcurrency pages in parallel once the total is known
+     */
+    public SearchPager pages(String jql) {
+        return pages(query(jql));
+    }
+
+    public SearchPager pages(SearchQuery query) {
+        return pages(query, config.getMaxResults());
+    }
+
+    public SearchPager pages(SearchQuery query, int pageSize) {
+        return new SearchPager(this, query, pageSize, config.getSearchConcurrency());
+    }
+
+    /**
+     * Stream every issue matching the JQL query, page by page, in bounded memory
+     * I/O failures surface as {@link java.io.UncheckedIOException} while the stream is consumed
+     */
+    public Stream<JiraIssue> streamIssues(String jql) {
+        return streamIssues(query(jql));
+    }
+
+    public Stream<JiraIssue> streamIssues(SearchQuery query) {
+        SearchPager pager = pages(query);
+        Spliterator<SearchPage> spliterator = Spliterators.spliteratorUnknownSize(pager, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false)
+                .onClose(pager::close)
+                .flatMap(page -> page.getIssues().stream());
+    }
+
+    /**
+     * Return every issue matching the query, using the on-disk issue cache when enabled
+     * A repeated query only downloads issues updated since the previous sync, plus a key-only
+     * pass that drops issues which no longer match and restores the result order.
+     */
+    public List<JiraIssue> syncIssues(SearchQuery query) throws IOException {
+        return syncIssues(query, null);
+    }
+
+    /**
+     * Sync a query, reporting each page of a full download to onPage (on the calling thread) as it arrives
+     * A delta sync against the issue cache has no pages worth reporting, its merged result is only returned.
+     */
+    public List<JiraIssue> syncIssues(SearchQuery query, Consumer<SearchPage> onPage) throws IOException {
+        List<JiraIssue> issues = issueStore != null ? syncWithStore(query, onPage) : collect(pages(query), onPage);
+        queryCache.put(cacheKey(query), issues);
+        return issues;
+    }
+
+    private List<JiraIssue> syncWithStore(SearchQuery query, Consumer<SearchPage> onPage) throws IOException {
+        long syncStart = System.currentTimeMillis();
+        IssueStore.Snapshot snapshot = issueStore.load(query);
+        if (snapshot == null) {
+            List<JiraIssue> issues = collect(pages(query), onPage);
+            issueStore.save(query, syncStart, issues);
+            return issues;
+        }
+
+        // Current result set, keys only
+        List<String> keys = searchKeys(query);
 
-        try (Response response = httpClient.newCall(request).execute()) {
+        // Relative dates sidestep the user's profile timezone; round up and add a minute for clock skew
+        long minutes = (syncStart - snapshot.getLastSync()) / 60_000 + 2;
+        SearchQuery deltaQuery = query.withJql(Jql.and(query.getJql(), "updated >= -" + minutes + "m"));
+        Map<String, JiraIssue> merged = snapshot.getIssues();
+        int cached = merged.size();
+        for (JiraIssue issue : collect(pages(deltaQuery))) {
+            merged.put(issue.getKey(), issue);
+        }
+
+        // Issues can start matching without being updated (a sprint starts, a due date passes,
+        // permissions change); they are neither cached nor in the delta and are fetched by key
+        List<String> missing = new ArrayList<>();
+        for (String key : keys) {
+            if (!merged.containsKey(key)) {
+                missing.add(key);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (JiraIssue issue : searchByKeys(missing, query)) {
+                merged.put(issue.getKey(), issue);
+            }
+        }
+
+        List<JiraIssue> issues = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            JiraIssue issue = merged.get(key);
+            if (issue != null) {
+                issues.add(issue);
+            }
+        }
+        logger.info("Synced {} issues ({} cached, {} newly matching without an update, window {} min)",
+                issues.size(), cached, missing.size(), minutes);
+        issueStore.save(query, syncStart, issues);
+        return issues;
+    }
+
+    /**
+     * Load every issue of a query into a columnar store, page by page
+     * Only the fields the store keeps are requested, and each page is released once encoded, so
+     * whole-project histories fit in a small heap.
+     */
+    public IssueColumnStore loadColumns(SearchQuery query, List<String> numericFields) throws IOException {
+        IssueColumnStore store = new IssueColumnStore(numericFields);
+        try (SearchPager pager = pages(query.withFields(store.getRequiredFields()).withExpand(""))) {
+            while (pager.hasNext()) {
+                store.addAll(pager.next().getIssues());
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        logger.info("Loaded {} issues into columns (~{} KB)", store.size(), store.estimateBytes() / 1024);
+        return store;
+    }
+
+    public CompletableFuture<IssueColumnStore> loadColumnsAsync(SearchQuery query, List<String> numericFields) {
+        return runAsync(() -> loadColumns(query, numericFields));
+    }
+
+    /**
+     * Look up the last result of a query in the in-memory query cache
+     * Returns null on a miss; the entry may be stale, see {@link QueryResultCache.Entry#isFresh()}
+     */
+    public QueryResultCache.Entry getCachedResult(SearchQuery query) {
+        return queryCache.get(cacheKey(query));
+    }
+
+    public QueryResultCache getQueryCache() {
+        return queryCache;
+    }
+
+    private QueryResultCache.Key cacheKey(SearchQuery query) {
+        return new QueryResultCache.Key(query, config.getApiVersion(), QueryResultCache.ALL_PAGES);
+    }
+
+    /**
+     * Drop the cached result of a query so the next sync downloads it in full
+     */
+    public void invalidateCache(SearchQuery query) throws IOException {
+        queryCache.invalidate(query);
+        if (issueStore != null) {
+            issueStore.invalidate(query);
+        }
+    }
+
+    private static List<JiraIssue> collect(SearchPager pager) throws IOException {
+        return collect(pager, null);
+    }
+
+    private static List<JiraIssue> collect(SearchPager pager, Consumer<SearchPage> onPage) throws IOException {
+        List<JiraIssue> issues = new ArrayList<>();
+        try (pager) {
+            while (pager.hasNext()) {
+                SearchPage page = pager.next();
+                issues.addAll(page.getIssues());
+                if (onPage != null) {
+                    onPage.accept(page);
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return issues;
+    }
+
+    /**
+     * Fetch a single issue by key with the given fields and expansions
+     */
+    public JiraIssue getIssue(String issueKey, List<String> fields, String expand) throws IOException {
+        String apiPath = config.getApiVersion().getApiPath();
+        HttpUrl.Builder urlBuilder = HttpUrl.parse(config.getJiraUrl() + apiPath + "/issue").newBuilder()
+                .addPathSegment(issueKey)
+                .addQueryParameter("fields", String.join(",", fields));
+        if (expand != null && !expand.isEmpty()) {
+            urlBuilder.addQueryParameter("expand", expand);
+        }
+
+        Request request = new Request.Builder()
+                .url(urlBuilder.build())
+                .get()
+                .addHeader("Authorization", getAuthHeader())
+                .addHeader("Accept", "application/json")
+                .build();
+
+        try (Response response = newCall(request).execute()) {
             if (!response.isSuccessful()) {
-                String errorBody = response.body() != null ? response.body().string() : "No error details";
-                throw new IOException("Jira API request failed: " + response.code() + " - " + errorBody);
+                throw new IOException("Failed to fetch issue " + issueKey + ": " + response.code());
             }
+            try (Reader body = response.body().charStream()) {
+                return new JiraIssue(JsonParser.parseReader(body).getAsJsonObject());
+            }
+        }
+    }
 
-            String responseBody = response.body().string();
-            JsonObject jsonResponse = gson.fromJson(responseBody, JsonObject.class);
+    /**
+     * Fetch the complete change history of an issue, oldest first
+     * Cloud pages through /issue/{key}/changelog; Server has no such endpoint but returns the whole
+     * changelog when the issue itself is fetched with expand=changelog.
+     */
+    public JsonArray getChangelog(String issueKey) throws IOException {
+        if (config.getApiVersion() == JiraConfig.ApiVersion.SERVER_9_12_24) {
+            JiraIssue issue = getIssue(issueKey, List.of("created"), "changelog");
+            JsonObject changelog = issue.getChangelog();
+            return changelog != null && changelog.has("histories") ? changelog.getAsJsonArray("histories") : new JsonArray();
+        }
+
+        JsonArray histories = new JsonArray();
+        int startAt = 0;
+        while (true) {
+            HttpUrl url = HttpUrl.parse(config.getJiraUrl() + config.getApiVersion().getApiPath() + "/issue").newBuilder()
+                    .addPathSegment(issueKey)
+                    .addPathSegment("changelog")
+                    .addQueryParameter("startAt", String.valueOf(startAt))
+                    .addQueryParameter("maxResults", String.valueOf(CHANGELOG_PAGE_SIZE))
+                    .build();
+            Request request = new Request.Builder()
+                    .url(url)
+                    .get()
+                    .addHeader("Authorization", getAuthHeader())
+                    .addHeader("Accept", "application/json")
+                    .build();
 
-            List<JiraIssue> issues = new ArrayList<>();
-            JsonArray issuesArray = jsonResponse.getAsJsonArray("issues");
+            JsonObject page;
+            try (Response response = newCall(request).execute()) {
+                if (!response.isSuccessful()) {
+                    throw new IOException("Failed to fetch changelog of " + issueKey + ": " + response.code());
+                }
+                try (Reader body = response.body().charStream()) {
+                    page = JsonParser.parseReader(body).getAsJsonObject();
+                }
+            }
+            JsonArray values = page.has("values") ? page.getAsJsonArray("values") : new JsonArray();
+            histories.addAll(values);
+            startAt += values.size();
+            boolean last = page.has("isLast") ? page.get("isLast").getAsBoolean()
+                    : !page.has("total") || startAt >= page.get("total").getAsInt();
+            if (last || values.size() == 0) {
+                return histories;
+            }
+        }
+    }
 
-            for (int i = 0; i < issuesArray.size(); i++) {
-                JsonObject issueJson = issuesArray.get(i).getAsJsonObject();
-                issues.add(new JiraIssue(issueJson));
+    /**
+     * Fetch the changelogs of up to BULK_CHANGELOG_ISSUES issues in one go (Cloud bulkfetch endpoint)
+     * Returns the histories by issue id, or null when this Jira does not offer the endpoint.
+     *
+     * @param fieldIds only keep changes to these fields, empty for all
+     */
+    public Map<String, JsonArray> bulkFetchChangelogs(List<String> issueIds, List<String> fieldIds) throws IOException {
+        if (config.getApiVersion() != JiraConfig.ApiVersion.CLOUD_CURRENT) {
+            return null;
+        }
+        String url = config.getJiraUrl() + config.getApiVersion().getApiPath() + "/changelog/bulkfetch";
+        Map<String, JsonArray> changelogs = new LinkedHashMap<>();
+        String nextPageToken = null;
+        do {
+            JsonObject requestBody = new JsonObject();
+            requestBody.add("issueIdsOrKeys", gson.toJsonTree(issueIds));
+            if (!fieldIds.isEmpty()) {
+                requestBody.add("fieldIds", gson.toJsonTree(fieldIds));
+            }
+            requestBody.addProperty("maxResults", BULK_CHANGELOG_PAGE_SIZE);
+            if (nextPageToken != null) {
+                requestBody.addProperty("nextPageToken", nextPageToken);
             }
+            Request request = new Request.Builder()
+                    .url(url)
+                    .post(RequestBody.create(gson.toJson(requestBody), JSON))
+                    .addHeader("Authorization", getAuthHeader())
+                    .addHeader("Accept", "application/json")
+                    .build();
 
-            logger.info("Retrieved {} issues", issues.size());
-            return issues;
+            JsonObject page;
+            try (Response response = newCall(request).execute()) {
+                if (response.code() == 404 || response.code() == 405) {
+                    logger.info("Bulk changelog endpoint not available (HTTP {})", response.code());
+                    return null;
+                }
+                if (!response.isSuccessful()) {
+                    throw new IOException("Failed to bulk fetch changelogs: " + response.code());
+                }
+                try (Reader body = response.body().charStream()) {
+                    page = JsonParser.parseReader(body).getAsJsonObject();
+                }
+            }
+            if (page.has("issueChangeLogs")) {
+                for (JsonElement element : page.getAsJsonArray("issueChangeLogs")) {
+                    JsonObject issueChangelog = element.getAsJsonObject();
+                    JsonArray histories = issueChangelog.has("changeHistories")
+                            ? issueChangelog.getAsJsonArray("changeHistories") : new JsonArray();
+                    // An issue's histories may continue on the next page
+                    changelogs.computeIfAbsent(issueChangelog.get("issueId").getAsString(), id -> new JsonArray())
+                            .addAll(histories);
+                }
+            }
+            JsonElement token = page.get("nextPageToken");
+            nextPageToken = token != null && !token.isJsonNull() ? token.getAsString() : null;
+        } while (nextPageToken != null);
+        return changelogs;
+    }
+
+    /**
+     * Status category key ("new", "indeterminate", "done") of every status, by status name
+     */
+    public Map<String, String> getStatusCategories() throws IOException {
+        String url = config.getJiraUrl() + config.getApiVersion().getApiPath() + "/status";
+        Request request = new Request.Builder()
+                .url(url)
+                .get()
+                .addHeader("Authorization", getAuthHeader())
+                .addHeader("Accept", "application/json")
+                .build();
+
+        try (Response response = newCall(request).execute()) {
+            if (!response.isSuccessful()) {
+                throw new IOException("Failed to fetch statuses: " + response.code());
+            }
+            Map<String, String> categories = new LinkedHashMap<>();
+            try (Reader body = response.body().charStream()) {
+                for (JsonElement element : JsonParser.parseReader(body).getAsJsonArray()) {
+                    JsonObject status = element.getAsJsonObject();
+                    JsonObject category = status.getAsJsonObject("statusCategory");
+                    if (status.has("name") && category != null && category.has("key")) {
+                        categories.put(status.get("name").getAsString(), category.get("key").getAsString());
+                    }
+                }
+            }
+            return categories;
         }
     }
 
@@ -129,7 +895,7 @@ public class JiraApiClient {
                     .addHeader("Accept", "application/json")
                     .build();
 
-            try (Response response = httpClient.newCall(request).execute()) {
+            try (Response response = newCall(request).execute()) {
                 return response.isSuccessful();
             }
         } catch (Exception e) {
@@ -140,36 +906,61 @@ public class JiraApiClient {
 
     /**
      * Get field metadata for better field name display using configured API version
+     * The list is kept on disk per Jira instance and revalidated with ETag/If-Modified-Since,
+     * or refreshed after jira.fieldcache.ttl when the server sends no validators.
      */
-    public JsonObject getFieldMetadata() throws IOException {
+    public synchronized Map<String, JiraField> getFieldMetadata() throws IOException {
+        long now = System.currentTimeMillis();
+        if (fieldMetadata == null && fieldMetadataStore != null) {
+            fieldMetadata = fieldMetadataStore.load();
+        }
+        if (fieldMetadata != null && !fieldMetadata.hasValidators()
+                && now - fieldMetadata.getFetchedAt() < config.getFieldCacheTtlSeconds() * 1000L) {
+            return fieldMetadata.getFields();
+        }
+
         String apiPath = config.getApiVersion().getApiPath();
         String url = config.getJiraUrl() + apiPath + "/field";
 
-        Request request = new Request.Builder()
+        Request.Builder requestBuilder = new Request.Builder()
                 .url(url)
                 .get()
                 .addHeader("Authorization", getAuthHeader())
-                .addHeader("Accept", "application/json")
-                .build();
+                .addHeader("Accept", "application/json");
+        if (fieldMetadata != null && fieldMetadata.getEtag() != null) {
+            requestBuilder.addHeader("If-None-Match", fieldMetadata.getEtag());
+        }
+        if (fieldMetadata != null && fieldMetadata.getLastModified() != null) {
+            requestBuilder.addHeader("If-Modified-Since", fieldMetadata.getLastModified());
+        }
 
-        try (Response response = httpClient.newCall(request).execute()) {
-            if (!response.isSuccessful()) {
+        try (Response response = newCall(requestBuilder.build()).execute()) {
+            if (response.code() == 304 && fieldMetadata != null) {
+                logger.info("Field metadata not modified, using cached copy");
+                fieldMetadata = fieldMetadata.touch(now);
+            } else if (!response.isSuccessful()) {
                 throw new IOException("Failed to fetch field metadata: " + response.code());
+            } else {
+                Map<String, JiraField> fields = new LinkedHashMap<>();
+                try (Reader body = response.body().charStream()) {
+                    for (JsonElement element : JsonParser.parseReader(body).getAsJsonArray()) {
+                        JiraField field = JiraField.fromJson(element.getAsJsonObject());
+                        fields.put(field.getId(), field);
+                    }
+                }
+                fieldMetadata = new FieldMetadataStore.Snapshot(fields, response.header("ETag"), response.header("Last-Modified"), now);
+                logger.info("Fetched metadata for {} fields", fields.size());
             }
+        }
 
-            String responseBody = response.body().string();
-            JsonArray fieldsArray = gson.fromJson(responseBody, JsonArray.class);
-
-            JsonObject fieldMap = new JsonObject();
-            for (int i = 0; i < fieldsArray.size(); i++) {
-                JsonObject field = fieldsArray.get(i).getAsJsonObject();
-                String id = field.get("id").getAsString();
-                String name = field.get("name").getAsString();
-                fieldMap.addProperty(id, name);
+        if (fieldMetadataStore != null) {
+            try {
+                fieldMetadataStore.save(fieldMetadata);
+            } catch (IOException e) {
+                logger.warn("Failed to persist field metadata", e);
             }
-
-            return fieldMap;
         }
+        return fieldMetadata.getFields();
     }
 
     private String getAuthHeader() {
@@ -181,4 +972,23 @@ public class JiraApiClient {
     public JiraConfig getConfig() {
         return config;
     }
+
+    public RequestThrottle getThrottle() {
+        return throttle;
+    }
+
+    public ClientMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Cancel outstanding calls and release the client's threads and connections
+     */
+    public void close() {
+        backgroundExecutor.shutdownNow();
+        httpClient.dispatcher().cancelAll();
+        httpClient.dispatcher().executorService().shutdown();
+        httpClient.connectionPool().evictAll();
+        metrics.unregister();
+    }
 }
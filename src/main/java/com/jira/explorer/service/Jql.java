@@ -0,0 +1,83 @@
+package com.jira.explorer.service;
+
+import java.util.Collection;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Helpers for composing JQL queries
+ */
+public final class Jql {
+    private static final Pattern ORDER_BY = Pattern.compile("(?i)(^|\\s)order\\s+by\\s");
+    // Field references that need no quoting: system ids (status, customfield_10010) and cf[10010]
+    private static final Pattern FIELD_ID = Pattern.compile("[A-Za-z][A-Za-z0-9_]*|cf\\[\\d+\\]");
+
+    private Jql() {
+    }
+
+    /**
+     * The query without its ORDER BY clause
+     */
+    public static String whereClause(String jql) {
+        int index = orderByIndex(jql);
+        return (index >= 0 ? jql.substring(0, index) : jql).trim();
+    }
+
+    /**
+     * The ORDER BY clause of the query (including the keywords), or an empty string
+     */
+    public static String orderByClause(String jql) {
+        int index = orderByIndex(jql);
+        return index >= 0 ? jql.substring(index).trim() : "";
+    }
+
+    /**
+     * Restrict a query with an extra condition, keeping its ORDER BY clause last
+     */
+    public static String and(String jql, String condition) {
+        String where = whereClause(jql);
+        String orderBy = orderByClause(jql);
+        String combined = where.isEmpty() ? condition : "(" + where + ") AND " + condition;
+        return orderBy.isEmpty() ? combined : combined + " " + orderBy;
+    }
+
+    /**
+     * Quote a value as a JQL string literal
+     */
+    public static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    /**
+     * A field reference for a clause: ids as they are, display names such as "Story Points" quoted
+     */
+    public static String field(String name) {
+        return FIELD_ID.matcher(name).matches() ? name : quote(name);
+    }
+
+    /**
+     * A "key in (...)" clause for the given issue keys
+     */
+    public static String keyIn(Collection<String> keys) {
+        StringBuilder clause = new StringBuilder("key in (");
+        boolean first = true;
+        for (String key : keys) {
+            if (!first) {
+                clause.append(',');
+            }
+            clause.append(quote(key));
+            first = false;
+        }
+        return clause.append(')').toString();
+    }
+
+    private static int orderByIndex(String jql) {
+        Matcher matcher = ORDER_BY.matcher(jql);
+        int index = -1;
+        // Use the last match so a quoted "order by" inside a value does not cut the query short
+        while (matcher.find()) {
+            index = matcher.start() + matcher.group(1).length();
+        }
+        return index;
+    }
+}
@@ -0,0 +1,182 @@
+package com.jira.explorer.service;
+
+import com.jira.explorer.model.JiraConfig;
+import com.jira.explorer.model.JiraIssue;
+import com.jira.explorer.model.SearchQuery;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Bounded in-memory cache of search results
+ * Entries are evicted least-recently-used once the size limit is reached and are reported
+ * stale after the TTL; stale entries are still returned so callers can show them while
+ * revalidating in the background.
+ */
+public class QueryResultCache {
+
+    /**
+     * Page value used for results that cover every page of a query
+     */
+    public static final int ALL_PAGES = -1;
+
+    /**
+     * Cache key: query (JQL, field projection, expansions), API version and page
+     */
+    public static final class Key {
+        private final SearchQuery query;
+        private final JiraConfig.ApiVersion apiVersion;
+        private final int page;
+
+        public Key(SearchQuery query, JiraConfig.ApiVersion apiVersion, int page) {
+            this.query = Objects.requireNonNull(query, "query");
+            this.apiVersion = Objects.requireNonNull(apiVersion, "apiVersion");
+            this.page = page;
+        }
+
+        public SearchQuery getQuery() {
+            return query;
+        }
+
+        public JiraConfig.ApiVersion getApiVersion() {
+            return apiVersion;
+        }
+
+        public int getPage() {
+            return page;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return page == other.page && apiVersion == other.apiVersion && query.equals(other.query);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(query, apiVersion, page);
+        }
+    }
+
+    /**
+     * A cached result and the time it was stored
+     */
+    public static final class Entry {
+        private final List<JiraIssue> issues;
+        private final long storedAt;
+        private final long expiresAt;
+
+        private Entry(List<JiraIssue> issues, long storedAt, long expiresAt) {
+            this.issues = issues;
+            this.storedAt = storedAt;
+            this.expiresAt = expiresAt;
+        }
+
+        public List<JiraIssue> getIssues() {
+            return issues;
+        }
+
+        public long getStoredAt() {
+            return storedAt;
+        }
+
+        public boolean isFresh() {
+            return System.currentTimeMillis() < expiresAt;
+        }
+    }
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final LinkedHashMap<Key, Entry> entries;
+
+    private long hits;
+    private long staleHits;
+    private long misses;
+    private long evictions;
+
+    public QueryResultCache(int maxEntries, long ttlMillis) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlMillis = ttlMillis;
+        // Access order turns iteration order into LRU order
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > QueryResultCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Look up a result; returns null on a miss and the entry (possibly stale) otherwise
+     */
+    public synchronized Entry get(Key key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+        } else if (entry.isFresh()) {
+            hits++;
+        } else {
+            staleHits++;
+        }
+        return entry;
+    }
+
+    public synchronized void put(Key key, List<JiraIssue> issues) {
+        long now = System.currentTimeMillis();
+        entries.put(key, new Entry(List.copyOf(issues), now, now + ttlMillis));
+    }
+
+    /**
+     * Drop every cached page of a query
+     */
+    public synchronized void invalidate(SearchQuery query) {
+        Iterator<Key> keys = entries.keySet().iterator();
+        while (keys.hasNext()) {
+            if (keys.next().getQuery().equals(query)) {
+                keys.remove();
+            }
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Lookups that found an entry older than the TTL
+     */
+    public synchronized long getStaleHits() {
+        return staleHits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "QueryResultCache[size=" + entries.size() + ", hits=" + hits + ", stale=" + staleHits
+                + ", misses=" + misses + ", evictions=" + evictions + "]";
+    }
+}
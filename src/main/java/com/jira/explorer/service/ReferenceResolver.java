@@ -0,0 +1,266 @@
+package com.jira.explorer.service;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.jira.explorer.model.JiraField;
+import com.jira.explorer.model.JiraIssue;
+import com.jira.explorer.model.SearchQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves the issues that loaded issues point to: parent, epic, linked issues and subtasks
+ * Parents, links and subtasks come with a summary and status embedded in the referring issue and are
+ * taken from there; the rest (the Epic Link custom field only holds a key, projections may strip the
+ * embedded fields) is fetched with chunked "key in (...)" searches of a few fields. Resolved issues
+ * are cached by key, so repeated searches over the same epics cost no requests.
+ */
+public class ReferenceResolver {
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceResolver.class);
+
+    /** Fields fetched for a referenced issue */
+    public static final List<String> REFERENCE_FIELDS = List.of("summary", "status", "issuetype");
+    /** Schema type of the Jira Software Epic Link field */
+    public static final String EPIC_LINK_TYPE = "com.pyxis.greenhopper.jira:gh-epic-link";
+    private static final int CACHE_SIZE = 20000;
+
+    public enum Kind {
+        PARENT, EPIC, LINK, SUBTASK
+    }
+
+    /**
+     * One reference from an issue to another
+     */
+    public static class Reference {
+        private final Kind kind;
+        private final String key;
+        private final String relation;
+
+        Reference(Kind kind, String key, String relation) {
+            this.kind = kind;
+            this.key = key;
+            this.relation = relation;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * Link description as seen from the referring issue (e.g. "blocks", "is cloned by"), or the kind name
+         */
+        public String getRelation() {
+            return relation;
+        }
+    }
+
+    private final JiraApiClient client;
+    private final Map<String, JiraIssue> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, JiraIssue> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+    private volatile String epicLinkField;
+    private volatile boolean epicLinkLookedUp;
+
+    public ReferenceResolver(JiraApiClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Resolve every issue referenced by the given ones
+     *
+     * @return referenced issues by key; keys that could not be found are absent
+     */
+    public Map<String, JiraIssue> resolve(Collection<JiraIssue> issues) throws IOException {
+        String epicField;
+        try {
+            epicField = getEpicLinkField();
+        } catch (IOException e) {
+            logger.warn("Field metadata unavailable, epic links are not resolved: {}", e.getMessage());
+            epicField = null;
+        }
+        Map<String, JiraIssue> loaded = new HashMap<>(issues.size() * 2);
+        for (JiraIssue issue : issues) {
+            loaded.put(issue.getKey(), issue);
+        }
+
+        Set<String> referenced = new LinkedHashSet<>();
+        Map<String, JiraIssue> resolved = new HashMap<>();
+        synchronized (cache) {
+            for (JiraIssue issue : issues) {
+                for (Reference reference : references(issue, epicField)) {
+                    referenced.add(reference.getKey());
+                }
+                collectEmbedded(issue.getFields());
+            }
+            for (String key : referenced) {
+                JiraIssue issue = loaded.get(key);
+                if (issue != null) {
+                    // Already in memory, cached so get() finds it too
+                    cache.put(key, issue);
+                } else {
+                    issue = cache.get(key);
+                }
+                if (issue != null) {
+                    resolved.put(key, issue);
+                }
+            }
+        }
+
+        List<String> missing = new ArrayList<>();
+        for (String key : referenced) {
+            if (!resolved.containsKey(key)) {
+                missing.add(key);
+            }
+        }
+        if (!missing.isEmpty()) {
+            List<JiraIssue> fetched = client.searchByKeys(missing, new SearchQuery("", REFERENCE_FIELDS, ""));
+            synchronized (cache) {
+                for (JiraIssue issue : fetched) {
+                    cache.put(issue.getKey(), issue);
+                    resolved.put(issue.getKey(), issue);
+                }
+            }
+        }
+        logger.info("Resolved {} referenced issues, {} fetched in {} searches", resolved.size(), missing.size(),
+                (missing.size() + JiraApiClient.KEY_CHUNK_SIZE - 1) / JiraApiClient.KEY_CHUNK_SIZE);
+        return resolved;
+    }
+
+    /**
+     * References of an issue, parent and epic first
+     */
+    public List<Reference> getReferences(JiraIssue issue) {
+        return references(issue, epicLinkField);
+    }
+
+    /**
+     * A resolved issue from the cache, or null
+     */
+    public JiraIssue get(String key) {
+        synchronized (cache) {
+            return cache.get(key);
+        }
+    }
+
+    /**
+     * Id of the Epic Link custom field from the field metadata, or null on instances without one
+     */
+    public String getEpicLinkField() throws IOException {
+        if (!epicLinkLookedUp) {
+            String found = null;
+            for (JiraField field : client.getFieldMetadata().values()) {
+                if (EPIC_LINK_TYPE.equals(field.getSchemaCustom()) || (found == null && "Epic Link".equals(field.getName()))) {
+                    found = field.getId();
+                }
+            }
+            epicLinkField = found;
+            epicLinkLookedUp = true;
+        }
+        return epicLinkField;
+    }
+
+    private static List<Reference> references(JiraIssue issue, String epicField) {
+        List<Reference> references = new ArrayList<>();
+        JsonObject fields = issue.getFields();
+        if (fields == null) {
+            return references;
+        }
+        String parent = keyOf(fields.get("parent"));
+        if (parent != null) {
+            references.add(new Reference(Kind.PARENT, parent, "parent"));
+        }
+        if (epicField != null) {
+            JsonElement epic = fields.get(epicField);
+            if (epic != null && epic.isJsonPrimitive()) {
+                references.add(new Reference(Kind.EPIC, epic.getAsString(), "epic"));
+            }
+        }
+        if (fields.has("issuelinks") && fields.get("issuelinks").isJsonArray()) {
+            for (JsonElement element : fields.getAsJsonArray("issuelinks")) {
+                JsonObject link = element.getAsJsonObject();
+                JsonObject type = link.has("type") && link.get("type").isJsonObject() ? link.getAsJsonObject("type") : new JsonObject();
+                String outward = keyOf(link.get("outwardIssue"));
+                if (outward != null) {
+                    references.add(new Reference(Kind.LINK, outward, string(type, "outward", "link")));
+                }
+                String inward = keyOf(link.get("inwardIssue"));
+                if (inward != null) {
+                    references.add(new Reference(Kind.LINK, inward, string(type, "inward", "link")));
+                }
+            }
+        }
+        if (fields.has("subtasks") && fields.get("subtasks").isJsonArray()) {
+            for (JsonElement subtask : fields.getAsJsonArray("subtasks")) {
+                String key = keyOf(subtask);
+                if (key != null) {
+                    references.add(new Reference(Kind.SUBTASK, key, "subtask"));
+                }
+            }
+        }
+        return references;
+    }
+
+    /**
+     * Cache the referenced issues that arrived embedded with their summary; caller holds the cache lock
+     */
+    private void collectEmbedded(JsonObject fields) {
+        if (fields == null) {
+            return;
+        }
+        addEmbedded(fields.get("parent"));
+        if (fields.has("issuelinks") && fields.get("issuelinks").isJsonArray()) {
+            for (JsonElement element : fields.getAsJsonArray("issuelinks")) {
+                JsonObject link = element.getAsJsonObject();
+                addEmbedded(link.get("outwardIssue"));
+                addEmbedded(link.get("inwardIssue"));
+            }
+        }
+        if (fields.has("subtasks") && fields.get("subtasks").isJsonArray()) {
+            for (JsonElement subtask : fields.getAsJsonArray("subtasks")) {
+                addEmbedded(subtask);
+            }
+        }
+    }
+
+    private void addEmbedded(JsonElement element) {
+        if (element == null || !element.isJsonObject()) {
+            return;
+        }
+        JsonObject embedded = element.getAsJsonObject();
+        JsonElement embeddedFields = embedded.get("fields");
+        if (embedded.has("key") && embedded.has("id") && embedded.has("self")
+                && embeddedFields != null && embeddedFields.isJsonObject() && embeddedFields.getAsJsonObject().has("summary")) {
+            cache.putIfAbsent(embedded.get("key").getAsString(), new JiraIssue(embedded));
+        }
+    }
+
+    private static String keyOf(JsonElement element) {
+        if (element == null || !element.isJsonObject()) {
+            return null;
+        }
+        JsonElement key = element.getAsJsonObject().get("key");
+        return key != null && key.isJsonPrimitive() ? key.getAsString() : null;
+    }
+
+    private static String string(JsonObject object, String name, String fallback) {
+        JsonElement value = object.get(name);
+        return value != null && value.isJsonPrimitive() ? value.getAsString() : fallback;
+    }
+}
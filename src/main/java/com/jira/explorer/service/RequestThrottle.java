@@ -0,0 +1,321 @@
+package com.jira.explorer.service;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throttling layer shared by every request of a JiraApiClient, installed as an OkHttp interceptor
+ * <ul>
+ *   <li>a token bucket caps the request rate</li>
+ *   <li>an AIMD limit caps concurrent requests, each holding its slot until its body is closed: it
+ *       grows by one per window of successful calls and halves on 429 or when latency (up to the end
+ *       of the body) climbs well above the observed baseline</li>
+ *   <li>429/503 responses are retried after Retry-After (or X-RateLimit-Reset), otherwise after a
+ *       jittered exponential backoff; the delay pauses all requests, not just the one that hit it</li>
+ * </ul>
+ */
+public class RequestThrottle implements Interceptor {
+    private static final Logger logger = LoggerFactory.getLogger(RequestThrottle.class);
+
+    private static final long BASE_BACKOFF_MILLIS = 500;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+    private static final long WAIT_SLICE_MILLIS = 100;
+    // Latency above this multiple of the baseline is treated as a congestion signal
+    private static final double LATENCY_CONGESTION_FACTOR = 3.0;
+
+    private final double tokensPerSecond;
+    private final double burst;
+    private final int minConcurrency;
+    private final int maxConcurrency;
+    private final int maxRetries;
+
+    // Guarded by this
+    private double tokens;
+    private long lastRefillNanos;
+    private double concurrencyLimit;
+    private int inFlight;
+    private long pausedUntilMillis;
+    private double baselineLatencyMillis = -1;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong throttledResponses = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+
+    public RequestThrottle(double tokensPerSecond, int burst, int initialConcurrency, int maxConcurrency, int maxRetries) {
+        this.tokensPerSecond = tokensPerSecond;
+        this.burst = Math.max(1, burst);
+        this.minConcurrency = 1;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.maxRetries = Math.max(0, maxRetries);
+        this.tokens = this.burst;
+        this.lastRefillNanos = System.nanoTime();
+        this.concurrencyLimit = Math.max(minConcurrency, Math.min(initialConcurrency, this.maxConcurrency));
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        for (int attempt = 0; ; attempt++) {
+            acquire(chain);
+            long start = System.nanoTime();
+            Response response;
+            try {
+                requests.incrementAndGet();
+                response = chain.proceed(chain.request());
+            } catch (Throwable e) {
+                release(-1, false);
+                throw e;
+            }
+
+            int code = response.code();
+            boolean throttled = code == 429 || code == 503;
+            if (!throttled) {
+                if (response.body() == null) {
+                    release((System.nanoTime() - start) / 1_000_000, false);
+                    return response;
+                }
+                // The slot is held, and latency measured, until the body has been read and closed
+                return response.newBuilder()
+                        .body(new ReleasingBody(response.body(), start))
+                        .build();
+            }
+            release(-1, true);
+
+            if (code == 429) {
+                throttledResponses.incrementAndGet();
+            }
+            if (attempt >= maxRetries) {
+                logger.warn("Giving up on {} after {} retries (HTTP {})", chain.request().url().encodedPath(), attempt, code);
+                return response;
+            }
+            long delay = retryDelayMillis(response, attempt);
+            response.close();
+            retries.incrementAndGet();
+            logger.info("HTTP {} from Jira, retrying {} in {} ms", code, chain.request().url().encodedPath(), delay);
+            pauseAll(delay);
+        }
+    }
+
+    /**
+     * Wait for a rate token, a concurrency slot and the end of any shared pause
+     */
+    private void acquire(Chain chain) throws IOException {
+        while (true) {
+            long waitMillis;
+            synchronized (this) {
+                long now = System.currentTimeMillis();
+                refill();
+                if (now < pausedUntilMillis) {
+                    waitMillis = pausedUntilMillis - now;
+                } else if (inFlight >= (int) concurrencyLimit) {
+                    waitMillis = WAIT_SLICE_MILLIS;
+                } else if (tokens < 1) {
+                    waitMillis = (long) Math.ceil((1 - tokens) * 1000 / tokensPerSecond);
+                } else {
+                    tokens -= 1;
+                    inFlight++;
+                    return;
+                }
+            }
+            sleep(chain, Math.min(Math.max(waitMillis, 1), WAIT_SLICE_MILLIS));
+        }
+    }
+
+    private synchronized void release(long latencyMillis, boolean throttled) {
+        inFlight--;
+        if (throttled) {
+            // Multiplicative decrease
+            concurrencyLimit = Math.max(minConcurrency, concurrencyLimit / 2);
+            return;
+        }
+        if (latencyMillis < 0) {
+            return;
+        }
+        if (baselineLatencyMillis < 0) {
+            baselineLatencyMillis = latencyMillis;
+        }
+        if (latencyMillis > baselineLatencyMillis * LATENCY_CONGESTION_FACTOR && latencyMillis > 1000) {
+            concurrencyLimit = Math.max(minConcurrency, concurrencyLimit * 0.75);
+        } else {
+            // Additive increase: about one extra slot per window of successful calls
+            concurrencyLimit = Math.min(maxConcurrency, concurrencyLimit + 1.0 / concurrencyLimit);
+        }
+        // Slow-moving baseline so a single outlier does not reset it
+        baselineLatencyMillis = baselineLatencyMillis * 0.95 + latencyMillis * 0.05;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        double elapsedSeconds = (now - lastRefillNanos) / 1e9;
+        tokens = Math.min(burst, tokens + elapsedSeconds * tokensPerSecond);
+        lastRefillNanos = now;
+    }
+
+    private synchronized void pauseAll(long delayMillis) {
+        pausedUntilMillis = Math.max(pausedUntilMillis, System.currentTimeMillis() + delayMillis);
+    }
+
+    /**
+     * Delay before retrying: Retry-After, then X-RateLimit-Reset, then jittered exponential backoff
+     */
+    static long retryDelayMillis(Response response, int attempt) {
+        Long retryAfter = parseRetryAfter(response.header("Retry-After"));
+        if (retryAfter == null) {
+            retryAfter = parseResetTime(response.header("X-RateLimit-Reset"));
+        }
+        if (retryAfter != null) {
+            return Math.min(Math.max(retryAfter, 0), MAX_BACKOFF_MILLIS * 4);
+        }
+        long ceiling = Math.min(MAX_BACKOFF_MILLIS, BASE_BACKOFF_MILLIS << Math.min(attempt, 16));
+        // Full jitter spreads retries of concurrent requests apart
+        return ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+    }
+
+    private static Long parseRetryAfter(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim()) * 1000;
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime date = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Duration.between(Instant.now(), date.toInstant()).toMillis();
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+
+    private static Long parseResetTime(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.between(Instant.now(), Instant.parse(value.trim())).toMillis();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static void sleep(Chain chain, long millis) throws IOException {
+        if (chain.call().isCanceled()) {
+            throw new IOException("Canceled");
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while throttled");
+        }
+    }
+
+    /**
+     * Response body that gives the concurrency slot back once closed, with the full request latency
+     * A body whose read failed releases the slot without a latency sample.
+     */
+    private final class ReleasingBody extends ResponseBody {
+        private final ResponseBody delegate;
+        private final long start;
+        private BufferedSource source;
+        private boolean failed;
+        private boolean released;
+
+        ReleasingBody(ResponseBody delegate, long start) {
+            this.delegate = delegate;
+            this.start = start;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public BufferedSource source() {
+            if (source == null) {
+                source = Okio.buffer(new ForwardingSource(delegate.source()) {
+                    @Override
+                    public long read(Buffer sink, long byteCount) throws IOException {
+                        try {
+                            return super.read(sink, byteCount);
+                        } catch (IOException | RuntimeException e) {
+                            failed = true;
+                            throw e;
+                        }
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        try {
+                            super.close();
+                        } finally {
+                            releaseOnce();
+                        }
+                    }
+                });
+            }
+            return source;
+        }
+
+        @Override
+        public void close() {
+            try {
+                super.close();
+            } finally {
+                releaseOnce();
+            }
+        }
+
+        private synchronized void releaseOnce() {
+            if (released) return;
+            released = true;
+            release(failed ? -1 : (System.nanoTime() - start) / 1_000_000, false);
+        }
+    }
+
+    public synchronized double getConcurrencyLimit() {
+        return concurrencyLimit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * Number of 429 responses received
+     */
+    public long getThrottledResponses() {
+        return throttledResponses.get();
+    }
+
+    public long getRetries() {
+        return retries.get();
+    }
+}
@@ -0,0 +1,150 @@
+package com.jira.explorer.service;
+
+import com.jira.explorer.model.JiraConfig;
+import com.jira.explorer.model.SearchPage;
+import com.jira.explorer.model.SearchQuery;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Iterates over every page of a JQL search
+ * Follows nextPageToken on Cloud /search/jql and startAt/total on Server /search.
+ * Once the first Server page reports the total, the following startAt offsets are fetched
+ * in parallel (bounded by the configured concurrency) and handed out in order.
+ * At most one page per in-flight request is held, so large result sets stay in bounded memory.
+ */
+public class SearchPager implements Iterator<SearchPage>, AutoCloseable {
+    private final JiraApiClient client;
+    private final SearchQuery query;
+    private final int pageSize;
+    private final int concurrency;
+    private final Deque<CompletableFuture<SearchPage>> inFlight = new ArrayDeque<>();
+
+    private boolean started;
+    private int nextStartAt;
+    private String nextPageToken;
+    private boolean exhausted;
+    private int total = -1;
+    private int fetched;
+
+    // Parallel fan-out state, only used for Server searches
+    private boolean fanOut;
+    private int fanOutStep;
+
+    SearchPager(JiraApiClient client, SearchQuery query, int pageSize, int concurrency) {
+        this.client = client;
+        this.query = query;
+        this.pageSize = pageSize;
+        this.concurrency = concurrency;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !exhausted;
+    }
+
+    @Override
+    public SearchPage next() {
+        if (exhausted) {
+            throw new NoSuchElementException();
+        }
+        SearchPage page = fanOut ? nextFannedOutPage() : nextSequentialPage();
+
+        if (page.getTotal() >= 0) {
+            total = page.getTotal();
+        }
+        fetched += page.getIssues().size();
+
+        if (fanOut) {
+            exhausted = inFlight.isEmpty() && nextStartAt >= total;
+        } else {
+            nextStartAt = page.getStartAt() + page.getIssues().size();
+            nextPageToken = page.getNextPageToken();
+            exhausted = page.isLast();
+            if (!started) {
+                started = true;
+                startFanOut(page);
+            }
+        }
+        return page;
+    }
+
+    private SearchPage nextSequentialPage() {
+        try {
+            return client.searchPage(query, nextStartAt, nextPageToken, pageSize);
+        } catch (IOException e) {
+            exhausted = true;
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private SearchPage nextFannedOutPage() {
+        CompletableFuture<SearchPage> future = inFlight.poll();
+        try {
+            SearchPage page = future.join();
+            schedule();
+            return page;
+        } catch (CompletionException e) {
+            close();
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw new UncheckedIOException((IOException) cause);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Switch to parallel fetching when the first page tells us how many offsets remain
+     */
+    private void startFanOut(SearchPage firstPage) {
+        boolean server = client.getConfig().getApiVersion() != JiraConfig.ApiVersion.CLOUD_CURRENT;
+        if (!server || exhausted || concurrency <= 1 || firstPage.getTotal() < 0 || firstPage.getIssues().isEmpty()) {
+            return;
+        }
+        fanOut = true;
+        // Step by the page size the server actually applied, it may clamp the requested maxResults
+        fanOutStep = firstPage.getMaxResults() > 0 ? firstPage.getMaxResults() : firstPage.getIssues().size();
+        schedule();
+    }
+
+    private void schedule() {
+        while (inFlight.size() < concurrency && nextStartAt < total) {
+            inFlight.add(client.searchPageAsync(query, nextStartAt, null, fanOutStep));
+            nextStartAt += fanOutStep;
+        }
+    }
+
+    /**
+     * Cancel any prefetched pages that have not been consumed yet
+     */
+    @Override
+    public void close() {
+        exhausted = true;
+        CompletableFuture<SearchPage> future;
+        while ((future = inFlight.poll()) != null) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Total number of matching issues as reported by Jira, or -1 if unknown (Cloud, or before the first page)
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Number of issues fetched so far
+     */
+    public int getFetched() {
+        return fetched;
+    }
+}
@@ -0,0 +1,99 @@
+package com.jira.explorer.service;
+
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.jira.explorer.model.JiraConfig;
+import com.jira.explorer.model.JiraIssue;
+import com.jira.explorer.model.SearchPage;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental parser for search responses (Server /search and Cloud /search/jql)
+ * Reads the body token by token with a JsonReader and builds each JiraIssue as soon as its
+ * object closes, so only the issue being parsed is held as a JSON tree.
+ * Top-level members other than the paging fields and issues (names, schema, warningMessages) are skipped.
+ */
+public class SearchResponseParser {
+    private final JiraConfig.ApiVersion apiVersion;
+
+    public SearchResponseParser(JiraConfig.ApiVersion apiVersion) {
+        this.apiVersion = apiVersion;
+    }
+
+    /**
+     * Parse a full page, collecting its issues
+     */
+    public SearchPage parse(Reader body, int startAt, int maxResults) throws IOException {
+        int pageStart = startAt;
+        int pageSize = maxResults;
+        int total = -1;
+        String nextPageToken = null;
+        boolean isLast = false;
+        List<JiraIssue> issues = new ArrayList<>();
+
+        JsonReader reader = new JsonReader(body);
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "startAt":
+                    pageStart = reader.nextInt();
+                    break;
+                case "maxResults":
+                    // Server may clamp maxResults (jira.search.views.default.max), report what was actually applied
+                    pageSize = reader.nextInt();
+                    break;
+                case "total":
+                    total = reader.nextInt();
+                    break;
+                case "nextPageToken":
+                    nextPageToken = reader.nextString();
+                    break;
+                case "isLast":
+                    isLast = reader.nextBoolean();
+                    break;
+                case "issues":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        issues.add(new JiraIssue(readIssue(reader)));
+                    }
+                    reader.endArray();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        boolean last;
+        if (apiVersion == JiraConfig.ApiVersion.CLOUD_CURRENT) {
+            last = isLast || nextPageToken == null;
+        } else {
+            last = issues.isEmpty() || (total >= 0 && pageStart + issues.size() >= total);
+        }
+        return new SearchPage(issues, pageStart, pageSize, total, nextPageToken, last);
+    }
+
+    private static JsonObject readIssue(JsonReader reader) throws IOException {
+        try {
+            return JsonParser.parseReader(reader).getAsJsonObject();
+        } catch (JsonIOException e) {
+            // Gson wraps read failures (timeouts, resets) mid-issue; surface them as the I/O errors they are
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
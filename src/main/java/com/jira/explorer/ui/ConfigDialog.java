@@ -17,6 +17,7 @@ public class ConfigDialog extends Dialog<JiraConfig> {
     private final TextField usernameField;
     private final PasswordField apiTokenField;
     private final TextField maxResultsField;
+    private final TextField fieldsField;
     private final ComboBox<JiraConfig.ApiVersion> apiVersionComboBox;
 
     public ConfigDialog(JiraConfig currentConfig) {
@@ -57,6 +58,13 @@ public class ConfigDialog extends Dialog<JiraConfig> {
         maxResultsField.setText(currentConfig != null ? String.valueOf(currentConfig.getMaxResults()) : "50");
         maxResultsField.setPrefWidth(100);
 
+        fieldsField = new TextField();
+        fieldsField.setPromptText("summary,status,assignee,issuetype (blank = all fields)");
+        if (currentConfig != null && currentConfig.hasSearchFieldProjection()) {
+            fieldsField.setText(String.join(",", currentConfig.getSearchFields()));
+        }
+        fieldsField.setPrefWidth(400);
+
         // API Version ComboBox
         apiVersionComboBox = new ComboBox<>();
         apiVersionComboBox.getItems().addAll(JiraConfig.ApiVersion.values());
@@ -98,14 +106,19 @@ public class ConfigDialog extends Dialog<JiraConfig> {
         grid.add(new Label("API Token:"), 0, 3);
         grid.add(apiTokenField, 1, 3);
 
-        grid.add(new Label("Max Results:"), 0, 4);
+        grid.add(new Label("Page Size:"), 0, 4);
         grid.add(maxResultsField, 1, 4);
 
+        grid.add(new Label("Fields:"), 0, 5);
+        grid.add(fieldsField, 1, 5);
+
         // Add info label
         Label infoLabel = new Label(
             "API Version:\n" +
             "- Jira Server 9.12.24: Use API v2 for on-premise Jira Server installations\n" +
             "- Jira Cloud (Current): Use API v3 for Atlassian Cloud instances\n\n" +
+            "Fields: comma separated list of fields fetched by searches. Fewer fields means\n" +
+            "much smaller responses; the full issue is loaded when you select it.\n\n" +
             "To generate an API token:\n" +
             "1. Go to https://id.atlassian.com/manage-profile/security/api-tokens\n" +
             "2. Click 'Create API token'\n" +
@@ -114,7 +127,7 @@ public class ConfigDialog extends Dialog<JiraConfig> {
         infoLabel.setStyle("-fx-font-size: 10; -fx-text-fill: #666;");
         infoLabel.setWrapText(true);
         infoLabel.setMaxWidth(400);
-        grid.add(infoLabel, 1, 5);
+        grid.add(infoLabel, 1, 6);
 
         getDialogPane().setContent(grid);
 
@@ -135,6 +148,7 @@ public class ConfigDialog extends Dialog<JiraConfig> {
                 config.setUsername(usernameField.getText().trim());
                 config.setApiToken(apiTokenField.getText().trim());
                 config.setApiVersion(apiVersionComboBox.getValue());
+                config.setSearchFields(JiraConfig.parseFieldList(fieldsField.getText()));
                 try {
                     config.setMaxResults(Integer.parseInt(maxResultsField.getText().trim()));
                 } catch (NumberFormatException e) {
@@ -181,7 +195,7 @@ public class ConfigDialog extends Dialog<JiraConfig> {
             "Please ensure:\n" +
             "- Jira URL starts with http:// or https://\n" +
             "- Username and API Token are not empty\n" +
-            "- Max Results is a number between 1 and 1000"
+            "- Page Size is a number between 1 and 1000"
         );
         alert.showAndWait();
     }
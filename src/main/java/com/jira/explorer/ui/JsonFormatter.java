@@ -0,0 +1,20 @@
+package com.jira.explorer.ui;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+
+/**
+ * Pretty printing of Jira JSON for display
+ */
+public final class JsonFormatter {
+    // Gson instances are immutable and thread-safe, build the pretty printer once
+    private static final Gson PRETTY = new GsonBuilder().setPrettyPrinting().create();
+
+    private JsonFormatter() {
+    }
+
+    public static String prettyPrint(JsonElement json) {
+        return PRETTY.toJson(json);
+    }
+}
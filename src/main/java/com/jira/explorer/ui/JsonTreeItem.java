@@ -0,0 +1,107 @@
+package com.jira.explorer.ui;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import javafx.collections.ObservableList;
+import javafx.scene.control.TreeItem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tree item over a JSON element whose children are only created when it is first expanded
+ * Together with the TreeView's cell virtualization, showing an issue costs the same whatever the
+ * size of its comments, changelog or rich-text description.
+ */
+public class JsonTreeItem extends TreeItem<JsonTreeItem.Node> {
+    private static final int MAX_LABEL_LENGTH = 200;
+
+    /**
+     * A member name (or array index) and its JSON value
+     */
+    public static class Node {
+        private final String name;
+        private final JsonElement value;
+
+        public Node(String name, JsonElement value) {
+            this.name = name;
+            this.value = value;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public JsonElement getValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            String prefix = name != null ? name + ": " : "";
+            if (value.isJsonObject()) {
+                return prefix + "{" + value.getAsJsonObject().size() + "}";
+            }
+            if (value.isJsonArray()) {
+                return prefix + "[" + value.getAsJsonArray().size() + "]";
+            }
+            if (value.isJsonNull()) {
+                return prefix + "null";
+            }
+            JsonPrimitive primitive = value.getAsJsonPrimitive();
+            String text = primitive.isString() ? "\"" + primitive.getAsString() + "\"" : primitive.getAsString();
+            // Labels are single line; the full value stays available through Copy JSON
+            text = text.replace('\n', ' ');
+            if (text.length() > MAX_LABEL_LENGTH) {
+                text = text.substring(0, MAX_LABEL_LENGTH - 3) + "...";
+            }
+            return prefix + text;
+        }
+    }
+
+    private boolean childrenLoaded;
+
+    public JsonTreeItem(String name, JsonElement value) {
+        super(new Node(name, value));
+    }
+
+    @Override
+    public boolean isLeaf() {
+        JsonElement value = getValue().getValue();
+        if (value.isJsonObject()) {
+            return value.getAsJsonObject().size() == 0;
+        }
+        if (value.isJsonArray()) {
+            return value.getAsJsonArray().size() == 0;
+        }
+        return true;
+    }
+
+    @Override
+    public ObservableList<TreeItem<Node>> getChildren() {
+        if (!childrenLoaded) {
+            childrenLoaded = true;
+            super.getChildren().setAll(createChildren(getValue().getValue()));
+        }
+        return super.getChildren();
+    }
+
+    private static List<TreeItem<Node>> createChildren(JsonElement value) {
+        List<TreeItem<Node>> children = new ArrayList<>();
+        if (value.isJsonObject()) {
+            JsonObject object = value.getAsJsonObject();
+            for (Map.Entry<String, JsonElement> member : object.entrySet()) {
+                children.add(new JsonTreeItem(member.getKey(), member.getValue()));
+            }
+        } else if (value.isJsonArray()) {
+            JsonArray array = value.getAsJsonArray();
+            for (int i = 0; i < array.size(); i++) {
+                children.add(new JsonTreeItem("[" + i + "]", array.get(i)));
+            }
+        }
+        return children;
+    }
+}
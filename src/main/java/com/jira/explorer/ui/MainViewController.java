@@ -2,42 +2,98 @@ package com.jira.explorer.ui;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.jira.explorer.metrics.FlowMetricsEngine;
+import com.jira.explorer.metrics.Workflow;
+import com.jira.explorer.model.IssueIndex;
 import com.jira.explorer.model.JiraConfig;
+import com.jira.explorer.model.JiraField;
 import com.jira.explorer.model.JiraIssue;
+import com.jira.explorer.model.SearchQuery;
+import com.jira.explorer.service.ChangelogFetcher;
+import com.jira.explorer.service.IssueExporter;
 import com.jira.explorer.service.JiraApiClient;
+import com.jira.explorer.service.QueryResultCache;
+import com.jira.explorer.service.ReferenceResolver;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.application.Platform;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
 import javafx.geometry.Insets;
 import javafx.geometry.Orientation;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
+import javafx.stage.FileChooser;
+import javafx.util.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Main controller for the Jira JQL Explorer UI
  */
 public class MainViewController {
     private static final Logger logger = LoggerFactory.getLogger(MainViewController.class);
+    // Issues added to the list per FX pulse while a search streams in
+    private static final int ISSUES_PER_PULSE = 200;
+    // JSON trees kept for recently viewed issues, with their expansion state
+    private static final int JSON_TREE_CACHE_SIZE = 32;
+    // Issues indexed per lock acquisition when a whole result is reindexed
+    private static final int INDEX_CHUNK = 500;
 
     private final BorderPane root;
     private final TextField jqlTextField;
-    private final TextArea resultTextArea;
+    private final TreeView<JsonTreeItem.Node> jsonTreeView;
+    private final TextField filterField;
     private final ListView<JiraIssue> issueListView;
     private final TableView<Map.Entry<String, Object>> fieldTableView;
     private final Label statusLabel;
     private final Button searchButton;
+    private final Button metricsButton;
+    private final Button exportButton;
+    private final Button countButton;
     private final Button configButton;
+    private final Label activityLabel;
+    private final Label metricsLabel;
+    private final Timeline metricsRefresh;
+    private final TaskScheduler scheduler;
 
     private JiraApiClient jiraClient;
+    private ChangelogFetcher changelogFetcher;
+    private ReferenceResolver referenceResolver;
     private ObservableList<JiraIssue> issues;
-    private JsonObject fieldMetadata;
+    private final FilteredList<JiraIssue> filteredIssues;
+    private final IssueIndex issueIndex = new IssueIndex();
+    private volatile Map<String, JiraField> fieldMetadata;
+    private CompletableFuture<List<JiraIssue>> currentSearch;
+    private ProgressiveListLoader<JiraIssue> currentLoader;
+    private JsonObject displayedJson;
+    // Both keyed by issue key and updated time, so a changed issue is rebuilt; FX thread only
+    private final Map<String, JsonTreeItem> jsonTrees = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, JsonTreeItem> eldest) {
+            return size() > JSON_TREE_CACHE_SIZE;
+        }
+    };
+    private final Map<String, JiraIssue> fullIssues = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, JiraIssue> eldest) {
+            return size() > JSON_TREE_CACHE_SIZE;
+        }
+    };
 
     public MainViewController() {
         this.root = new BorderPane();
@@ -45,12 +101,21 @@ public class MainViewController {
 
         // Initialize UI components
         this.jqlTextField = new TextField();
-        this.resultTextArea = new TextArea();
-        this.issueListView = new ListView<>(issues);
+        this.jsonTreeView = new TreeView<>();
+        this.filteredIssues = new FilteredList<>(issues);
+        this.filterField = new TextField();
+        this.issueListView = new ListView<>(filteredIssues);
         this.fieldTableView = new TableView<>();
         this.statusLabel = new Label("Not connected to Jira");
         this.searchButton = new Button("Search");
+        this.metricsButton = new Button("Flow Metrics");
+        this.exportButton = new Button("Export...");
+        this.countButton = new Button("Count");
         this.configButton = new Button("Configure");
+        this.activityLabel = new Label();
+        this.metricsLabel = new Label();
+        this.metricsRefresh = new Timeline(new KeyFrame(Duration.seconds(1), e -> updateMetricsLabel()));
+        this.scheduler = new TaskScheduler(activityLabel::setText);
 
         setupUI();
         setupEventHandlers();
@@ -93,7 +158,7 @@ public class MainViewController {
         HBox.setHgrow(jqlTextField, Priority.ALWAYS);
         searchButton.setDefaultButton(true);
         searchButton.setStyle("-fx-background-color: #0052CC; -fx-text-fill: white;");
-        queryBar.getChildren().addAll(jqlLabel, jqlTextField, searchButton);
+        queryBar.getChildren().addAll(jqlLabel, jqlTextField, searchButton, countButton, metricsButton, exportButton);
 
         topSection.getChildren().addAll(titleLabel, configBar, queryBar);
         return topSection;
@@ -109,8 +174,9 @@ public class MainViewController {
         Label issuesLabel = new Label("Issues");
         issuesLabel.setFont(Font.font("System", FontWeight.BOLD, 14));
         issueListView.setPlaceholder(new Label("No issues loaded. Enter a JQL query and click Search."));
+        filterField.setPromptText("Filter loaded issues (text, status:, assignee:, type:)");
         VBox.setVgrow(issueListView, Priority.ALWAYS);
-        leftPane.getChildren().addAll(issuesLabel, issueListView);
+        leftPane.getChildren().addAll(issuesLabel, filterField, issueListView);
         leftPane.setPadding(new Insets(5));
 
         // Right - Split pane for field explorer and raw JSON
@@ -174,15 +240,15 @@ public class MainViewController {
         Label jsonLabel = new Label("Raw JSON");
         jsonLabel.setFont(Font.font("System", FontWeight.BOLD, 14));
 
-        resultTextArea.setEditable(false);
-        resultTextArea.setWrapText(true);
-        resultTextArea.setFont(Font.font("Courier New", 12));
-        VBox.setVgrow(resultTextArea, Priority.ALWAYS);
+        // Virtualized tree, nodes are built as they are expanded
+        jsonTreeView.setShowRoot(false);
+        jsonTreeView.setStyle("-fx-font-family: 'Courier New'; -fx-font-size: 12;");
+        VBox.setVgrow(jsonTreeView, Priority.ALWAYS);
 
         Button copyJsonButton = new Button("Copy JSON");
         copyJsonButton.setOnAction(e -> copyJsonToClipboard());
 
-        jsonPane.getChildren().addAll(jsonLabel, resultTextArea, copyJsonButton);
+        jsonPane.getChildren().addAll(jsonLabel, jsonTreeView, copyJsonButton);
         jsonPane.setPadding(new Insets(5));
         return jsonPane;
     }
@@ -193,15 +259,30 @@ public class MainViewController {
 
         Label infoLabel = new Label("Total Issues: 0");
         infoLabel.setId("infoLabel");
-        bottomSection.getChildren().add(infoLabel);
+
+        Region spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+        activityLabel.setStyle("-fx-text-fill: #666;");
+        metricsLabel.setStyle("-fx-text-fill: #888; -fx-font-size: 10;");
+        bottomSection.getChildren().addAll(infoLabel, spacer, activityLabel, metricsLabel);
+
+        // Refresh the pipeline metrics readout once per second
+        metricsRefresh.setCycleCount(Animation.INDEFINITE);
+        metricsRefresh.play();
 
         return bottomSection;
     }
 
     private void setupEventHandlers() {
         searchButton.setOnAction(e -> executeSearch());
+        metricsButton.setOnAction(e -> computeFlowMetrics());
+        exportButton.setOnAction(e -> exportIssues());
+        countButton.setOnAction(e -> countIssues());
         configButton.setOnAction(e -> showConfigDialog());
 
+        // Narrow the loaded issues in memory, no round trip to Jira
+        filterField.textProperty().addListener((observable, oldValue, newValue) -> applyFilter());
+
         issueListView.getSelectionModel().selectedItemProperty().addListener(
             (observable, oldValue, newValue) -> {
                 if (newValue != null) {
@@ -227,79 +308,449 @@ public class MainViewController {
             return;
         }
 
-        searchButton.setDisable(true);
-        statusLabel.setText("Searching...");
-
-        Thread searchThread = new Thread(() -> {
-            try {
-                var results = jiraClient.searchIssues(jql, 0, jiraClient.getConfig().getMaxResults());
-                Platform.runLater(() -> {
-                    issues.clear();
-                    issues.addAll(results);
-                    updateInfoLabel();
-                    statusLabel.setText("Search completed. Found " + results.size() + " issues.");
-                    searchButton.setDisable(false);
-                });
-            } catch (Exception ex) {
-                logger.error("Search failed", ex);
-                Platform.runLater(() -> {
-                    showAlert("Search Failed", "Error: " + ex.getMessage());
-                    statusLabel.setText("Search failed");
-                    searchButton.setDisable(false);
+        // Latest search wins: the previous one is aborted so it cannot overwrite this result
+        currentSearch = null;
+        stopLoader();
+
+        SearchQuery query = jiraClient.query(jql);
+        QueryResultCache.Entry cached = jiraClient.getCachedResult(query);
+        if (cached != null) {
+            showResults(cached.getIssues());
+            boolean revalidate = !cached.isFresh() || jiraClient.getConfig().isQueryCacheRevalidate();
+            statusLabel.setText("Showing cached results (" + cached.getIssues().size() + " issues)"
+                    + (revalidate ? ", refreshing..." : "."));
+            if (!revalidate) {
+                scheduler.cancel("search");
+                resolveReferences(cached.getIssues());
+                return;
+            }
+        } else {
+            statusLabel.setText("Searching...");
+        }
+
+        // Walks every page, or only the changes since the last run when the issue cache is enabled.
+        // Without cached results on screen, pages are shown as they arrive rather than all at the end.
+        CompletableFuture<List<JiraIssue>> search;
+        if (cached == null) {
+            ProgressiveListLoader<JiraIssue> loader = new ProgressiveListLoader<>(issues, ISSUES_PER_PULSE, this::updateLoadProgress);
+            scheduler.cancel("index");
+            issueIndex.clear();
+            loader.start();
+            currentLoader = loader;
+            updateInfoLabel();
+            search = jiraClient.syncIssuesAsync(query, page -> {
+                if (page.getTotal() >= 0) {
+                    loader.setExpected(page.getTotal());
+                }
+                // Indexed before it reaches the list, so an active filter sees the new issues
+                issueIndex.addAll(page.getIssues());
+                loader.offer(page.getIssues());
+            });
+            if (jiraClient.getConfig().getApiVersion() == JiraConfig.ApiVersion.CLOUD_CURRENT) {
+                // Cloud pages carry no total, a count request supplies the "of M" for the progress
+                CompletableFuture<Long> count = jiraClient.countAsync(jql);
+                count.thenAccept(total -> {
+                    if (loader.getExpected() < 0) {
+                        loader.setExpected((int) Math.min(Integer.MAX_VALUE, total));
+                    }
                 });
+                search.whenComplete((results, error) -> count.cancel(true));
+            }
+        } else {
+            search = jiraClient.syncIssuesAsync(query);
+        }
+        currentSearch = search;
+        // Tracking cancels the previous search; it runs after joining so a repeated identical
+        // search keeps the shared in-flight request
+        scheduler.track("search", "Searching...", search);
+        search.whenComplete((results, error) -> Platform.runLater(() -> {
+            if (search != currentSearch) {
+                return;
             }
+            currentSearch = null;
+            if (error == null) {
+                finishLoad(results);
+            } else if (!(error instanceof CancellationException)) {
+                stopLoader();
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                logger.error("Search failed", cause);
+                showAlert("Search Failed", "Error: " + cause.getMessage());
+                statusLabel.setText("Search failed");
+            }
+        }));
+    }
+
+    private void computeFlowMetrics() {
+        String jql = jqlTextField.getText().trim();
+        if (jql.isEmpty()) {
+            showAlert("JQL Query Required", "Please enter a JQL query.");
+            return;
+        }
+        if (jiraClient == null) {
+            showAlert("Not Connected", "Please configure Jira connection first.");
+            return;
+        }
+
+        JiraApiClient client = jiraClient;
+        if (changelogFetcher == null) {
+            changelogFetcher = new ChangelogFetcher(client, List.of("status"));
+        }
+        ChangelogFetcher fetcher = changelogFetcher;
+        scheduler.submit("flow-metrics", "Computing flow metrics...", progress -> {
+            Workflow workflow = Workflow.fromStatusCategories(client.getStatusCategories());
+            return new FlowMetricsEngine(workflow).compute(client, fetcher, client.query(jql));
+        }).whenComplete((metrics, error) -> Platform.runLater(() -> {
+            if (error == null) {
+                showReport("Flow Metrics", jql, metrics.toReport());
+            } else if (!(error instanceof CancellationException)) {
+                logger.error("Flow metrics failed", error);
+                showAlert("Flow Metrics Failed", "Error: " + error.getMessage());
+            }
+        }));
+    }
+
+    /**
+     * Count the matching issues per status category, without downloading them
+     */
+    private void countIssues() {
+        String jql = jqlTextField.getText().trim();
+        if (jql.isEmpty()) {
+            showAlert("JQL Query Required", "Please enter a JQL query.");
+            return;
+        }
+        if (jiraClient == null) {
+            showAlert("Not Connected", "Please configure Jira connection first.");
+            return;
+        }
+
+        JiraApiClient client = jiraClient;
+        CompletableFuture<Long> total = client.countAsync(jql);
+        CompletableFuture<Map<String, Long>> byCategory =
+                client.countByValuesAsync(jql, "statusCategory", List.of("To Do", "In Progress", "Done"));
+        CompletableFuture<String> report = total.thenCombine(byCategory, (count, categories) -> {
+            StringBuilder text = new StringBuilder("Issues: " + count + System.lineSeparator());
+            categories.forEach((category, categoryCount) -> text.append(String.format("  %-12s %d%n", category, categoryCount)));
+            return text.toString();
         });
-        searchThread.setDaemon(true);
-        searchThread.start();
+        report.whenComplete((ignored, error) -> {
+            if (report.isCancelled()) {
+                total.cancel(true);
+                byCategory.cancel(true);
+            }
+        });
+        scheduler.track("count", "Counting issues...", report)
+            .whenComplete((text, error) -> Platform.runLater(() -> {
+                if (error == null) {
+                    showReport("Issue Count", jql, text);
+                } else if (!(error instanceof CancellationException)) {
+                    logger.error("Count failed", error);
+                    showAlert("Count Failed", "Error: " + error.getMessage());
+                }
+            }));
+    }
+
+    private void exportIssues() {
+        String jql = jqlTextField.getText().trim();
+        if (jql.isEmpty()) {
+            showAlert("JQL Query Required", "Please enter a JQL query.");
+            return;
+        }
+        if (jiraClient == null) {
+            showAlert("Not Connected", "Please configure Jira connection first.");
+            return;
+        }
+
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Export Issues");
+        chooser.setInitialFileName("issues.csv");
+        chooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("CSV", "*.csv"),
+                new FileChooser.ExtensionFilter("NDJSON", "*.ndjson", "*.jsonl"));
+        File file = chooser.showSaveDialog(root.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        // Exported straight from the search pages, independently of the issues shown in the list
+        JiraApiClient client = jiraClient;
+        Path path = file.toPath();
+        IssueExporter.Format format = IssueExporter.Format.fromPath(path);
+        scheduler.submit("export", "Exporting issues...", progress ->
+                IssueExporter.export(client, client.query(jql), path, format,
+                        written -> progress.accept("Exported " + written + " issues..."))
+        ).whenComplete((written, error) -> Platform.runLater(() -> {
+            if (error == null) {
+                statusLabel.setText("Exported " + written + " issues to " + file.getName());
+            } else if (!(error instanceof CancellationException)) {
+                logger.error("Export failed", error);
+                showAlert("Export Failed", "Error: " + error.getMessage());
+            }
+        }));
+    }
+
+    /**
+     * Show the final result once the streamed pages have drained, or replace the list when the
+     * sync produced something other than what was streamed (a delta merge, a cached revalidation)
+     */
+    private void finishLoad(List<JiraIssue> results) {
+        ProgressiveListLoader<JiraIssue> loader = currentLoader;
+        if (loader == null) {
+            completeLoad(null, results);
+            return;
+        }
+        // Let the remaining pages drain first, the loader keeps the pulse cap
+        loader.onDrained(() -> {
+            if (loader == currentLoader) {
+                completeLoad(loader, results);
+            }
+        });
+    }
+
+    private void completeLoad(ProgressiveListLoader<JiraIssue> loader, List<JiraIssue> results) {
+        stopLoader();
+        if (loader == null || !sameIssues(issues, results)) {
+            showResults(results);
+        }
+        statusLabel.setText("Search completed. Found " + results.size() + " issues.");
+        updateInfoLabel();
+        resolveReferences(results);
+    }
+
+    /**
+     * Whether the list holds exactly these issue instances, in this order
+     * Only a result made of the streamed pages matches; a merged one differs even when the keys are the same.
+     */
+    private static boolean sameIssues(List<JiraIssue> shown, List<JiraIssue> results) {
+        if (shown.size() != results.size()) {
+            return false;
+        }
+        for (int i = 0; i < shown.size(); i++) {
+            if (shown.get(i) != results.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Resolve parents, epics and linked issues of the result in the background, then show them for the selected issue
+     */
+    private void resolveReferences(List<JiraIssue> results) {
+        if (jiraClient == null || results.isEmpty()) {
+            return;
+        }
+        if (referenceResolver == null) {
+            referenceResolver = new ReferenceResolver(jiraClient);
+        }
+        ReferenceResolver resolver = referenceResolver;
+        scheduler.submit("references", "Resolving parents and links...", progress -> resolver.resolve(results))
+            .whenComplete((resolved, error) -> Platform.runLater(() -> {
+                if (error == null) {
+                    JiraIssue selected = issueListView.getSelectionModel().getSelectedItem();
+                    if (selected != null && resolver == referenceResolver) {
+                        JiraIssue full = needsFullIssue() ? fullIssues.get(versionKey(selected)) : null;
+                        showIssueFields(full != null ? full : selected, full != null || !needsFullIssue());
+                    }
+                } else if (!(error instanceof CancellationException)) {
+                    logger.warn("Failed to resolve referenced issues", error);
+                }
+            }));
+    }
+
+    private void stopLoader() {
+        if (currentLoader != null) {
+            currentLoader.stop();
+            currentLoader = null;
+        }
+    }
+
+    private void updateLoadProgress() {
+        ProgressiveListLoader<JiraIssue> loader = currentLoader;
+        if (loader == null) {
+            return;
+        }
+        int expected = loader.getExpected();
+        String progress = expected >= 0
+                ? "Loaded " + loader.getLoaded() + " of " + expected + " issues..."
+                : "Loaded " + loader.getLoaded() + " issues...";
+        statusLabel.setText(progress);
+        updateInfoLabel();
+    }
+
+    private void showResults(List<JiraIssue> results) {
+        // Keep the selection when a revalidated result still contains the selected issue
+        JiraIssue selected = issueListView.getSelectionModel().getSelectedItem();
+        reindex(results);
+        issues.setAll(results);
+        if (selected != null) {
+            results.stream()
+                    .filter(issue -> issue.getKey().equals(selected.getKey()))
+                    .findFirst()
+                    .ifPresent(issue -> issueListView.getSelectionModel().select(issue));
+        }
+        updateInfoLabel();
+    }
+
+    /**
+     * Rebuild the filter index for a replaced result in the background, then re-apply the filter
+     * Until it is done an active filter only matches the issues indexed so far.
+     */
+    private void reindex(List<JiraIssue> results) {
+        issueIndex.clear();
+        scheduler.submit("index", "Indexing issues...", progress -> {
+            for (int i = 0; i < results.size() && !Thread.currentThread().isInterrupted(); i += INDEX_CHUNK) {
+                issueIndex.addAll(results.subList(i, Math.min(results.size(), i + INDEX_CHUNK)));
+            }
+            return null;
+        }).whenComplete((ignored, error) -> Platform.runLater(this::applyFilter));
+    }
+
+    private void applyFilter() {
+        filteredIssues.setPredicate(issueIndex.compile(filterField.getText()));
+        updateInfoLabel();
     }
 
     private void displayIssueDetails(JiraIssue issue) {
+        // Searches may only fetch a projection of the fields, load the full issue for the explorer
+        if (!needsFullIssue()) {
+            showIssueFields(issue, true);
+            return;
+        }
+        JiraIssue full = fullIssues.get(versionKey(issue));
+        if (full != null) {
+            showIssueFields(full, true);
+        } else {
+            showIssueFields(issue, false);
+            loadFullIssue(issue);
+        }
+    }
+
+    private boolean needsFullIssue() {
+        return jiraClient != null && jiraClient.getConfig().hasSearchFieldProjection();
+    }
+
+    /**
+     * Issue key and updated time, or null when the issue has no updated time and cannot be cached
+     */
+    private static String versionKey(JiraIssue issue) {
+        return issue.getUpdated() != null ? issue.getKey() + "@" + issue.getUpdated() : null;
+    }
+
+    /**
+     * @param complete whether the issue carries every field, rather than the search projection
+     */
+    private void showIssueFields(JiraIssue issue, boolean complete) {
         // Update field table
-        ObservableList<Map.Entry<String, Object>> fieldEntries =
-            FXCollections.observableArrayList(issue.getFlattenedFields().entrySet());
+        ObservableList<Map.Entry<String, Object>> fieldEntries = FXCollections.observableArrayList();
+        ReferenceResolver resolver = referenceResolver;
+        if (resolver != null) {
+            // Referenced issues first, with their summary once resolved
+            for (ReferenceResolver.Reference reference : resolver.getReferences(issue)) {
+                JiraIssue target = resolver.get(reference.getKey());
+                String value = target != null
+                        ? reference.getKey() + "  " + target.getSummary() + " [" + target.getStatus() + "]"
+                        : reference.getKey();
+                fieldEntries.add(Map.entry("\u2192 " + reference.getRelation(), value));
+            }
+        }
+        fieldEntries.addAll(issue.getFlattenedFields().entrySet());
         fieldTableView.setItems(fieldEntries);
 
-        // Update raw JSON
-        JsonObject fields = issue.getFields();
-        resultTextArea.setText(prettyPrintJson(fields));
+        // Update raw JSON, reusing the tree (and its expanded nodes) of a recently viewed issue
+        displayedJson = issue.getFields() != null ? issue.getFields() : new JsonObject();
+        String version = versionKey(issue);
+        String treeKey = version == null ? null : complete ? version : version + "#projection";
+        JsonTreeItem tree = treeKey != null ? jsonTrees.get(treeKey) : null;
+        if (tree == null) {
+            tree = new JsonTreeItem(null, displayedJson);
+            tree.setExpanded(true);
+            if (treeKey != null) {
+                jsonTrees.put(treeKey, tree);
+            }
+        }
+        jsonTreeView.setRoot(tree);
+    }
+
+    private void loadFullIssue(JiraIssue issue) {
+        JiraConfig.ApiVersion apiVersion = jiraClient.getConfig().getApiVersion();
+        scheduler.track("issue-details", "Loading " + issue.getKey() + "...",
+                jiraClient.getIssueAsync(issue.getKey(), apiVersion.getDefaultFields(), apiVersion.getDefaultExpand()))
+            .whenComplete((fullIssue, error) -> Platform.runLater(() -> {
+                if (error != null) {
+                    if (!(error instanceof CancellationException)) {
+                        logger.error("Failed to load issue {}", issue.getKey(), error);
+                    }
+                    return;
+                }
+                // Cached under the listed version, which is what the next selection looks up
+                String version = versionKey(issue);
+                if (version != null) {
+                    fullIssues.put(version, fullIssue);
+                }
+                if (issue == issueListView.getSelectionModel().getSelectedItem()) {
+                    // Ignore the result if the user has moved on to another issue
+                    showIssueFields(fullIssue, true);
+                }
+            }));
     }
 
     private void showConfigDialog() {
         ConfigDialog dialog = new ConfigDialog(jiraClient != null ? jiraClient.getConfig() : new JiraConfig());
         dialog.showAndWait().ifPresent(config -> {
-            jiraClient = new JiraApiClient(config);
-            if (jiraClient.testConnection()) {
-                statusLabel.setText("Connected to " + config.getJiraUrl());
-                statusLabel.setStyle("-fx-text-fill: green;");
-                loadFieldMetadata();
-            } else {
-                statusLabel.setText("Connection failed!");
-                statusLabel.setStyle("-fx-text-fill: red;");
-                showAlert("Connection Failed", "Could not connect to Jira. Please check your credentials.");
+            if (jiraClient != null) {
+                scheduler.cancel("search");
+                jiraClient.close();
+            }
+            if (changelogFetcher != null) {
+                changelogFetcher.close();
+                changelogFetcher = null;
             }
+            scheduler.cancel("references");
+            referenceResolver = null;
+            currentSearch = null;
+            stopLoader();
+            jsonTrees.clear();
+            fullIssues.clear();
+            JiraApiClient client = new JiraApiClient(config);
+            jiraClient = client;
+            statusLabel.setText("Connecting to " + config.getJiraUrl() + "...");
+            statusLabel.setStyle("-fx-text-fill: #666;");
+            scheduler.track("connect", "Testing connection...", client.testConnectionAsync())
+                .whenComplete((connected, error) -> Platform.runLater(() -> {
+                    if (client != jiraClient || error instanceof CancellationException) {
+                        return;
+                    }
+                    if (Boolean.TRUE.equals(connected)) {
+                        statusLabel.setText("Connected to " + config.getJiraUrl());
+                        statusLabel.setStyle("-fx-text-fill: green;");
+                        loadFieldMetadata();
+                    } else {
+                        statusLabel.setText("Connection failed!");
+                        statusLabel.setStyle("-fx-text-fill: red;");
+                        showAlert("Connection Failed", "Could not connect to Jira. Please check your credentials.");
+                    }
+                }));
         });
     }
 
     private void loadFieldMetadata() {
         if (jiraClient == null) return;
 
-        Thread metadataThread = new Thread(() -> {
-            try {
-                fieldMetadata = jiraClient.getFieldMetadata();
-                logger.info("Field metadata loaded");
-            } catch (Exception ex) {
-                logger.error("Failed to load field metadata", ex);
-            }
-        });
-        metadataThread.setDaemon(true);
-        metadataThread.start();
+        scheduler.track("field-metadata", "Loading field metadata...", jiraClient.getFieldMetadataAsync())
+            .whenComplete((metadata, error) -> {
+                if (error == null) {
+                    fieldMetadata = metadata;
+                    logger.info("Field metadata loaded");
+                } else if (!(error instanceof CancellationException)) {
+                    logger.error("Failed to load field metadata", error);
+                }
+            });
     }
 
     private String getFieldDisplayName(String fieldId) {
-        if (fieldMetadata != null && fieldMetadata.has(fieldId)) {
-            return fieldMetadata.get(fieldId).getAsString() + " (" + fieldId + ")";
-        }
-        return fieldId;
+        Map<String, JiraField> metadata = fieldMetadata;
+        JiraField field = metadata != null ? metadata.get(fieldId) : null;
+        return field != null ? field.getDisplayName() : fieldId;
     }
 
     private void copySelectedFieldValue() {
@@ -315,8 +766,9 @@ public class MainViewController {
     }
 
     private void copyJsonToClipboard() {
-        String json = resultTextArea.getText();
-        if (!json.isEmpty()) {
+        // Pretty printed only on demand, never on selection
+        if (displayedJson != null) {
+            String json = JsonFormatter.prettyPrint(displayedJson);
             javafx.scene.input.Clipboard clipboard = javafx.scene.input.Clipboard.getSystemClipboard();
             javafx.scene.input.ClipboardContent content = new javafx.scene.input.ClipboardContent();
             content.putString(json);
@@ -325,17 +777,31 @@ public class MainViewController {
         }
     }
 
+    private void updateMetricsLabel() {
+        metricsLabel.setText(jiraClient != null ? jiraClient.getMetrics().summary() : "");
+    }
+
     private void updateInfoLabel() {
         Label infoLabel = (Label) root.getBottom().lookup("#infoLabel");
         if (infoLabel != null) {
-            infoLabel.setText("Total Issues: " + issues.size());
+            infoLabel.setText(filteredIssues.getPredicate() != null
+                    ? "Showing " + filteredIssues.size() + " of " + issues.size() + " issues"
+                    : "Total Issues: " + issues.size());
         }
     }
 
-    private String prettyPrintJson(JsonObject json) {
-        com.google.gson.GsonBuilder builder = new com.google.gson.GsonBuilder();
-        builder.setPrettyPrinting();
-        return builder.create().toJson(json);
+    private void showReport(String title, String header, String report) {
+        TextArea text = new TextArea(report);
+        text.setEditable(false);
+        text.setFont(Font.font("Courier New", 12));
+        text.setPrefSize(640, 480);
+        Dialog<Void> dialog = new Dialog<>();
+        dialog.setTitle(title);
+        dialog.setHeaderText(header);
+        dialog.setResizable(true);
+        dialog.getDialogPane().setContent(text);
+        dialog.getDialogPane().getButtonTypes().add(ButtonType.CLOSE);
+        dialog.show();
     }
 
     private void showAlert(String title, String message) {
@@ -349,4 +815,15 @@ public class MainViewController {
     public BorderPane getRoot() {
         return root;
     }
+
+    /**
+     * Stop background work and release the Jira client
+     */
+    public void shutdown() {
+        metricsRefresh.stop();
+        scheduler.shutdown();
+        if (jiraClient != null) {
+            jiraClient.close();
+        }
+    }
 }
@@ -0,0 +1,135 @@
+package com.jira.explorer.ui;
+
+import javafx.animation.AnimationTimer;
+import javafx.collections.ObservableList;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Feeds items produced on background threads into an ObservableList a batch at a time
+ * Items are queued from any thread and drained on each FX pulse, at most maxPerPulse per pulse
+ * and with a single addAll, so a large result never stalls the FX thread in one update.
+ * A loader serves one load; stop it and start a new one when the list is reloaded.
+ */
+public class ProgressiveListLoader<T> {
+    private final ObservableList<T> target;
+    private final int maxPerPulse;
+    private final Runnable onProgress;
+    private final ConcurrentLinkedQueue<T> pending = new ConcurrentLinkedQueue<>();
+
+    // FX thread only
+    private AnimationTimer timer;
+    private int loaded;
+    private Runnable onDrained;
+    private volatile int expected = -1;
+    private volatile boolean stopped;
+
+    /**
+     * @param onProgress called on the FX thread after every drained batch
+     */
+    public ProgressiveListLoader(ObservableList<T> target, int maxPerPulse, Runnable onProgress) {
+        this.target = target;
+        this.maxPerPulse = maxPerPulse;
+        this.onProgress = onProgress;
+    }
+
+    /**
+     * Clear the list and start draining; FX thread only
+     */
+    public void start() {
+        target.clear();
+        loaded = 0;
+        if (timer == null) {
+            timer = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    drain();
+                }
+            };
+        }
+        timer.start();
+    }
+
+    /**
+     * Queue items for the list, from any thread; ignored once stopped
+     */
+    public void offer(Collection<? extends T> items) {
+        if (!stopped) {
+            pending.addAll(items);
+        }
+    }
+
+    /**
+     * Total number of items the load will produce, when the source knows it
+     */
+    public void setExpected(int expected) {
+        this.expected = expected;
+    }
+
+    public int getExpected() {
+        return expected;
+    }
+
+    /**
+     * Items already added to the list; FX thread only
+     */
+    public int getLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Items queued but not yet in the list
+     */
+    public boolean hasPending() {
+        return !pending.isEmpty();
+    }
+
+    /**
+     * Run the action once everything queued so far is in the list, right away if nothing is pending; FX thread only
+     * Call it once the source has produced its last item.
+     */
+    public void onDrained(Runnable action) {
+        if (pending.isEmpty()) {
+            action.run();
+        } else {
+            onDrained = action;
+        }
+    }
+
+    /**
+     * Stop draining and drop anything still queued; FX thread only
+     */
+    public void stop() {
+        stopped = true;
+        if (timer != null) {
+            timer.stop();
+        }
+        pending.clear();
+        onDrained = null;
+    }
+
+    /**
+     * Move up to maxPerPulse queued items into the list; runs on every pulse while started
+     */
+    void drain() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<T> batch = new ArrayList<>(Math.min(maxPerPulse, 256));
+        T item;
+        while (batch.size() < maxPerPulse && (item = pending.poll()) != null) {
+            batch.add(item);
+        }
+        target.addAll(batch);
+        loaded += batch.size();
+        onProgress.run();
+        if (onDrained != null && pending.isEmpty()) {
+            Runnable action = onDrained;
+            onDrained = null;
+            action.run();
+        }
+    }
+}
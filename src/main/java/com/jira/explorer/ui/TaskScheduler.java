@@ -0,0 +1,172 @@
+package com.jira.explorer.ui;
+
+import javafx.application.Platform;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Central scheduler for the UI's background work
+ * Runs blocking tasks on a bounded pool with a bounded queue (new work is rejected rather than
+ * piling up), keeps only the latest task per category running, and reports the running tasks
+ * to the status bar. Java 17 is the build target, so a bounded platform-thread pool stands in
+ * for virtual threads.
+ */
+public class TaskScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(TaskScheduler.class);
+    private static final int QUEUE_CAPACITY = 32;
+
+    /**
+     * A background task that may report progress messages
+     */
+    @FunctionalInterface
+    public interface BackgroundTask<T> {
+        T run(Consumer<String> progress) throws Exception;
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final Consumer<String> statusSink;
+    private final Map<String, CompletableFuture<?>> latestByCategory = new ConcurrentHashMap<>();
+    private final Map<CompletableFuture<?>, String> activeTasks = new LinkedHashMap<>();
+    private volatile boolean shutdown;
+
+    /**
+     * @param statusSink receives a summary of the running tasks on the FX thread ("" when idle)
+     */
+    public TaskScheduler(Consumer<String> statusSink) {
+        this.statusSink = statusSink;
+        int threads = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+                    Thread thread = new Thread(runnable, "ui-task-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Run a blocking task in the background, cancelling the previous task of the same category
+     */
+    public <T> CompletableFuture<T> submit(String category, String description, BackgroundTask<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        if (shutdown) {
+            result.cancel(false);
+            return result;
+        }
+        try {
+            Future<?> worker = executor.submit(() -> {
+                if (result.isDone()) {
+                    return;
+                }
+                try {
+                    result.complete(task.run(message -> describe(result, message)));
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+            result.whenComplete((value, error) -> {
+                if (result.isCancelled()) {
+                    worker.cancel(true);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.warn("Too many background tasks, rejecting {}", description);
+            result.completeExceptionally(new RejectedExecutionException("Too many background tasks, please wait", e));
+            return result;
+        }
+        return track(category, description, result);
+    }
+
+    /**
+     * Track an operation that already runs asynchronously (e.g. a JiraApiClient future)
+     * The previous operation of the same category is cancelled, and the operation is listed in the status bar.
+     */
+    public <T> CompletableFuture<T> track(String category, String description, CompletableFuture<T> future) {
+        if (shutdown) {
+            future.cancel(true);
+            return future;
+        }
+        CompletableFuture<?> previous = latestByCategory.put(category, future);
+        if (previous != null && previous != future) {
+            previous.cancel(true);
+        }
+        describe(future, description);
+        future.whenComplete((value, error) -> {
+            latestByCategory.remove(category, future);
+            synchronized (activeTasks) {
+                activeTasks.remove(future);
+            }
+            publishStatus();
+        });
+        return future;
+    }
+
+    /**
+     * Cancel the running task of a category, if any
+     */
+    public void cancel(String category) {
+        CompletableFuture<?> future = latestByCategory.remove(category);
+        if (future != null) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Cancel everything and stop the worker threads
+     */
+    public void shutdown() {
+        shutdown = true;
+        List<CompletableFuture<?>> running = new ArrayList<>(latestByCategory.values());
+        running.forEach(future -> future.cancel(true));
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(2, TimeUnit.SECONDS)) {
+                logger.warn("Background tasks did not stop in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void describe(CompletableFuture<?> future, String description) {
+        synchronized (activeTasks) {
+            if (future.isDone()) {
+                return;
+            }
+            activeTasks.put(future, description);
+        }
+        publishStatus();
+    }
+
+    private void publishStatus() {
+        // Post while holding the lock so status updates reach the FX thread in order
+        synchronized (activeTasks) {
+            String status;
+            if (activeTasks.isEmpty()) {
+                status = "";
+            } else {
+                String first = activeTasks.values().iterator().next();
+                int others = activeTasks.size() - 1;
+                status = others > 0 ? first + " (+" + others + " more)" : first;
+            }
+            if (!shutdown) {
+                Platform.runLater(() -> statusSink.accept(status));
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.jira.explorer.perf;
+
+import com.google.gson.JsonObject;
+import com.jira.explorer.model.JiraConfig;
+import com.jira.explorer.model.JiraIssue;
+import com.jira.explorer.ui.JsonFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-issue model costs: construction, flattening, the list accessors and JSON pretty printing
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JiraIssueBenchmark {
+
+    @Param({"SERVER_9_12_24", "CLOUD_CURRENT"})
+    public JiraConfig.ApiVersion apiVersion;
+
+    private JsonObject issueJson;
+    private JiraIssue issue;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        issueJson = SearchResponseFixtures.issue(apiVersion);
+        issue = new JiraIssue(issueJson);
+    }
+
+    @Benchmark
+    public JiraIssue construct() {
+        return new JiraIssue(issueJson);
+    }
+
+    @Benchmark
+    public Map<String, Object> constructAndFlatten() {
+        // A fresh instance each time, flattening is cached per issue
+        return new JiraIssue(issueJson).getFlattenedFields();
+    }
+
+    @Benchmark
+    public void listAccessors(Blackhole blackhole) {
+        blackhole.consume(issue.getStatus());
+        blackhole.consume(issue.getAssignee());
+        blackhole.consume(issue.getIssueType());
+        blackhole.consume(issue.getSummary());
+    }
+
+    @Benchmark
+    public String prettyPrint() {
+        return JsonFormatter.prettyPrint(issue.getFields());
+    }
+}
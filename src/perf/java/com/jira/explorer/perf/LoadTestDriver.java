@@ -0,0 +1,158 @@
+package com.jira.explorer.perf;
+
+import com.jira.explorer.model.JiraConfig;
+import com.jira.explorer.model.JiraIssue;
+import com.jira.explorer.model.SearchQuery;
+import com.jira.explorer.service.ClientMetrics;
+import com.jira.explorer.service.JiraApiClient;
+import com.jira.explorer.service.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives JiraApiClient against a MockJiraServer at increasing concurrency levels
+ * Each worker repeatedly syncs the full result set of one query (every page, as the UI does)
+ * and the driver reports throughput and p50/p99 per level. Options:
+ * <pre>
+ *   --api server|cloud|both   API version(s) to exercise (both)
+ *   --levels 1,2,4,8,16       concurrent syncs per run
+ *   --duration 10             seconds per level, after a --warmup 3 second run
+ *   --issues 1000             issues matched by every query
+ *   --page-size 100           jira.maxresults, also the mock's page cap (--max-page-size)
+ *   --latency 20              server-side delay per request in ms
+ *   --throttle-every 0        answer every n-th request with 429, --retry-after 1 seconds
+ *   --rps 1000                jira.ratelimit.rps, --max-concurrency 64 jira.ratelimit.maxconcurrency
+ *   --search-concurrency 4    jira.searchconcurrency
+ *   --url URL                 run against an already running server instead of starting the mock
+ * </pre>
+ */
+public class LoadTestDriver {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = MockJiraServer.parseOptions(args);
+        String api = options.getOrDefault("api", "both");
+        List<JiraConfig.ApiVersion> versions = new ArrayList<>();
+        if (!api.equals("cloud")) {
+            versions.add(JiraConfig.ApiVersion.SERVER_9_12_24);
+        }
+        if (!api.equals("server")) {
+            versions.add(JiraConfig.ApiVersion.CLOUD_CURRENT);
+        }
+        List<Integer> levels = new ArrayList<>();
+        for (String level : options.getOrDefault("levels", "1,2,4,8,16").split(",")) {
+            levels.add(Integer.parseInt(level.trim()));
+        }
+        int pageSize = intOption(options, "page-size", 100);
+
+        MockJiraServer mock = null;
+        String url = options.get("url");
+        if (url == null) {
+            mock = MockJiraServer.builder()
+                    .issues(intOption(options, "issues", 1000))
+                    .maxPageSize(intOption(options, "max-page-size", pageSize))
+                    .latency(intOption(options, "latency", 20))
+                    .throttleEvery(intOption(options, "throttle-every", 0), intOption(options, "retry-after", 1))
+                    .threads(Math.max(32, 4 * levels.stream().mapToInt(Integer::intValue).max().orElse(1)))
+                    .start();
+            url = mock.getUrl();
+            // The mock shares the machine with the client, keep that in mind when reading CPU-bound results
+            System.out.printf("Mock Jira on %s (%d CPUs): %d issues, page cap %d, latency %d ms, 429 every %s requests%n",
+                    url, Runtime.getRuntime().availableProcessors(), mock.getIssueCount(),
+                    intOption(options, "max-page-size", pageSize), intOption(options, "latency", 20),
+                    options.getOrDefault("throttle-every", "0"));
+        }
+
+        try {
+            for (JiraConfig.ApiVersion version : versions) {
+                System.out.println();
+                System.out.println(version.getDisplayName());
+                System.out.printf("%5s %8s %10s %11s %8s %8s %8s %9s %6s %7s%n",
+                        "conc", "syncs", "syncs/s", "issues/s", "p50 ms", "p99 ms", "max ms", "requests", "429s", "limit");
+                JiraConfig config = config(url, version, options, pageSize);
+                run(config, 1, intOption(options, "warmup", 3), null);
+                for (int level : levels) {
+                    run(config, level, intOption(options, "duration", 10), mock);
+                }
+            }
+        } finally {
+            if (mock != null) {
+                mock.close();
+            }
+        }
+        System.exit(0);
+    }
+
+    private static JiraConfig config(String url, JiraConfig.ApiVersion version, Map<String, String> options, int pageSize) {
+        JiraConfig config = new JiraConfig(url, options.getOrDefault("username", "load-test"), options.getOrDefault("token", "token"));
+        config.setApiVersion(version);
+        config.setMaxResults(pageSize);
+        config.setSearchConcurrency(intOption(options, "search-concurrency", 4));
+        config.setRateLimitPerSecond(Double.parseDouble(options.getOrDefault("rps", "1000")));
+        config.setRateLimitBurst(intOption(options, "burst", 100));
+        config.setMaxConcurrentRequests(intOption(options, "max-concurrency", 64));
+        // Every sync must hit the server, not the on-disk delta cache
+        config.setCacheEnabled(false);
+        return config;
+    }
+
+    /**
+     * Run concurrency workers for the given duration on a fresh client, printing one result row unless mock is null
+     */
+    private static void run(JiraConfig config, int concurrency, int durationSeconds, MockJiraServer mock) throws Exception {
+        JiraApiClient client = new JiraApiClient(config);
+        SearchQuery query = client.query("project = LOAD ORDER BY key");
+        LatencyHistogram latency = new LatencyHistogram();
+        AtomicLong issues = new AtomicLong();
+        AtomicLong failures = new AtomicLong();
+        long mockRequestsBefore = mock != null ? mock.getRequests() : 0;
+        long mockThrottledBefore = mock != null ? mock.getThrottled() : 0;
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(durationSeconds);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(workers.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    long operationStart = System.nanoTime();
+                    try {
+                        List<JiraIssue> result = client.syncIssues(query);
+                        issues.addAndGet(result.size());
+                        latency.record((System.nanoTime() - operationStart) / 1_000_000);
+                    } catch (Exception e) {
+                        if (failures.incrementAndGet() == 1) {
+                            System.err.println("Sync failed: " + e.getMessage());
+                        }
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        workers.shutdown();
+
+        ClientMetrics metrics = client.getMetrics();
+        if (mock != null) {
+            System.out.printf("%5d %8d %10.2f %11.0f %8d %8d %8d %9d %6d %7.1f%s%n",
+                    concurrency, latency.getCount(), latency.getCount() / seconds, issues.get() / seconds,
+                    latency.percentile(0.50), latency.percentile(0.99), latency.getMaxMillis(),
+                    mock.getRequests() - mockRequestsBefore, mock.getThrottled() - mockThrottledBefore,
+                    metrics.getConcurrencyLimit(), failures.get() > 0 ? "  (" + failures.get() + " failed)" : "");
+        }
+        client.close();
+    }
+
+    private static int intOption(Map<String, String> options, String name, int defaultValue) {
+        String value = options.get(name);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+}
@@ -0,0 +1,79 @@
+package com.jira.explorer.perf;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.jira.explorer.model.JiraConfig;
+import com.jira.explorer.model.JiraIssue;
+import com.jira.explorer.model.SearchPage;
+import com.jira.explorer.service.SearchResponseParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of whole search responses: the streaming JsonReader parser used by JiraApiClient,
+ * against the String + JsonObject tree approach it replaced
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class SearchResponseParseBenchmark {
+
+    @Param({"SERVER_9_12_24", "CLOUD_CURRENT"})
+    public JiraConfig.ApiVersion apiVersion;
+
+    @Param({"50", "1000", "10000"})
+    public int issues;
+
+    private byte[] body;
+    private SearchResponseParser parser;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        body = SearchResponseFixtures.searchResponse(apiVersion, issues);
+        parser = new SearchResponseParser(apiVersion);
+    }
+
+    private Reader reader() {
+        return new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public SearchPage streamingParse() throws IOException {
+        return parser.parse(reader(), 0, issues);
+    }
+
+    @Benchmark
+    public List<JiraIssue> treeParse() {
+        String text = new String(body, StandardCharsets.UTF_8);
+        JsonObject response = JsonParser.parseString(text).getAsJsonObject();
+        JsonArray array = response.getAsJsonArray("issues");
+        List<JiraIssue> result = new ArrayList<>(array.size());
+        for (int i = 0; i < array.size(); i++) {
+            result.add(new JiraIssue(array.get(i).getAsJsonObject()));
+        }
+        return result;
+    }
+}
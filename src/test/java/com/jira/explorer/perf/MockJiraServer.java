@@ -0,0 +1,454 @@
+package com.jira.explorer.perf;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.jira.explorer.model.JiraConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Local stand-in for Jira serving the endpoints JiraApiClient uses
+ * <ul>
+ *   <li>POST /rest/api/2/search with startAt/maxResults/total paging</li>
+ *   <li>GET /rest/api/3/search/jql with nextPageToken/isLast paging</li>
+ *   <li>POST /rest/api/3/search/approximate-count</li>
+ *   <li>GET /rest/api/{2,3}/field and /rest/api/{2,3}/myself</li>
+ * </ul>
+ * Every query matches the same generated result set, built from the recorded issue fixtures, except
+ * "key in (...)" searches, which match the listed keys, and queries with an "updated >=" clause, which
+ * only match the issues marked as updated. A search asking only for key/updated gets slim issues,
+ * like the client's key-only sync pass. The result set can be resized and issues marked as updated
+ * while the server runs, to drive delta syncs.
+ */
+public class MockJiraServer implements AutoCloseable {
+    private static final Gson GSON = new Gson();
+    private static final String KEY_PLACEHOLDER = "__ISSUE_KEY__";
+    private static final String ID_PLACEHOLDER = "__ISSUE_ID__";
+    private static final String PROJECT_KEY = "LOAD";
+
+    private static final Pattern KEY_IN = Pattern.compile("\\bkey\\s+in\\s*\\(([^)]*)\\)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ISSUE_KEY = Pattern.compile(PROJECT_KEY + "-(\\d+)");
+
+    private volatile int issueCount;
+    private final Set<Integer> updated = ConcurrentHashMap.newKeySet();
+    private final int maxPageSize;
+    private final long latencyMillis;
+    private final int throttleEvery;
+    private final int retryAfterSeconds;
+
+    private final String serverIssue;
+    private final String cloudIssue;
+    private final String fields;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong issuesServed = new AtomicLong();
+
+    private MockJiraServer(Builder builder) throws IOException {
+        this.issueCount = builder.issueCount;
+        this.maxPageSize = builder.maxPageSize;
+        this.latencyMillis = builder.latencyMillis;
+        this.throttleEvery = builder.throttleEvery;
+        this.retryAfterSeconds = builder.retryAfterSeconds;
+
+        JsonObject serverTemplate = SearchResponseFixtures.issue(JiraConfig.ApiVersion.SERVER_9_12_24);
+        this.serverIssue = issueTemplate(serverTemplate);
+        this.cloudIssue = issueTemplate(SearchResponseFixtures.issue(JiraConfig.ApiVersion.CLOUD_CURRENT));
+        this.fields = fieldList(serverTemplate);
+
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", builder.port), 128);
+        this.executor = Executors.newFixedThreadPool(builder.threads);
+        server.setExecutor(executor);
+        server.createContext("/rest/api/2/search", exchange -> handle(exchange, () -> serverSearch(exchange)));
+        server.createContext("/rest/api/3/search/jql", exchange -> handle(exchange, () -> cloudSearch(exchange)));
+        server.createContext("/rest/api/3/search/approximate-count",
+                exchange -> handle(exchange, () -> respond(exchange, 200, "{\"count\":" + issueCount + "}")));
+        server.createContext("/rest/api/2/field", exchange -> handle(exchange, () -> respond(exchange, 200, fields)));
+        server.createContext("/rest/api/3/field", exchange -> handle(exchange, () -> respond(exchange, 200, fields)));
+        server.createContext("/rest/api/2/myself", exchange -> handle(exchange, () -> myself(exchange)));
+        server.createContext("/rest/api/3/myself", exchange -> handle(exchange, () -> myself(exchange)));
+        server.start();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Base URL to use as jira.url
+     */
+    public String getUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public int getIssueCount() {
+        return issueCount;
+    }
+
+    /**
+     * Change the number of issues every search matches, e.g. to add or drop issues between two syncs
+     */
+    public void setIssueCount(int issueCount) {
+        this.issueCount = issueCount;
+    }
+
+    /**
+     * Mark issues as updated, so "updated >=" delta queries match them; numbers are 1-based like the keys
+     */
+    public void markUpdated(int... issueNumbers) {
+        for (int number : issueNumbers) {
+            updated.add(number - 1);
+        }
+    }
+
+    /**
+     * Key of the n-th generated issue, 1-based
+     */
+    public static String issueKey(int number) {
+        return PROJECT_KEY + "-" + number;
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getThrottled() {
+        return throttled.get();
+    }
+
+    public long getIssuesServed() {
+        return issuesServed.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        void handle() throws IOException;
+    }
+
+    private void handle(HttpExchange exchange, Handler handler) throws IOException {
+        try {
+            long n = requests.incrementAndGet();
+            if (latencyMillis > 0) {
+                TimeUnit.MILLISECONDS.sleep(latencyMillis);
+            }
+            if (throttleEvery > 0 && n % throttleEvery == 0) {
+                throttled.incrementAndGet();
+                exchange.getResponseHeaders().add("Retry-After", String.valueOf(retryAfterSeconds));
+                respond(exchange, 429, "{\"errorMessages\":[\"Rate limit exceeded\"]}");
+                return;
+            }
+            handler.handle();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            respond(exchange, 400, "{\"errorMessages\":[" + GSON.toJson(String.valueOf(e.getMessage())) + "]}");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void serverSearch(HttpExchange exchange) throws IOException {
+        JsonObject body;
+        try (InputStreamReader reader = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+            body = JsonParser.parseReader(reader).getAsJsonObject();
+        }
+        int startAt = body.has("startAt") ? body.get("startAt").getAsInt() : 0;
+        int maxResults = pageSize(body.has("maxResults") ? body.get("maxResults").getAsInt() : 50);
+        boolean slim = isKeyOnly(body.getAsJsonArray("fields"));
+        int[] matches = matching(body.has("jql") ? body.get("jql").getAsString() : "");
+        int end = Math.min(matches.length, startAt + maxResults);
+
+        exchange.getResponseHeaders().add("Content-Type", "application/json;charset=UTF-8");
+        exchange.sendResponseHeaders(200, 0);
+        try (Writer writer = writer(exchange)) {
+            writer.write("{\"expand\":\"names,schema\",\"startAt\":" + startAt + ",\"maxResults\":" + maxResults
+                    + ",\"total\":" + matches.length + ",\"issues\":[");
+            writeIssues(writer, serverIssue, matches, startAt, end, slim);
+            writer.write("]}");
+        }
+    }
+
+    private void cloudSearch(HttpExchange exchange) throws IOException {
+        Map<String, String> params = queryParameters(exchange);
+        int startAt = params.containsKey("nextPageToken") ? decodeToken(params.get("nextPageToken")) : 0;
+        int maxResults = pageSize(params.containsKey("maxResults") ? Integer.parseInt(params.get("maxResults")) : 50);
+        JsonArray requested = new JsonArray();
+        for (String field : params.getOrDefault("fields", "").split(",")) {
+            requested.add(field);
+        }
+        boolean slim = isKeyOnly(requested);
+        int[] matches = matching(params.getOrDefault("jql", ""));
+        int end = Math.min(matches.length, startAt + maxResults);
+
+        exchange.getResponseHeaders().add("Content-Type", "application/json;charset=UTF-8");
+        exchange.sendResponseHeaders(200, 0);
+        try (Writer writer = writer(exchange)) {
+            writer.write("{\"issues\":[");
+            writeIssues(writer, cloudIssue, matches, startAt, end, slim);
+            writer.write("]");
+            if (end < matches.length) {
+                writer.write(",\"nextPageToken\":\"" + encodeToken(end) + "\",\"isLast\":false}");
+            } else {
+                writer.write(",\"isLast\":true}");
+            }
+        }
+    }
+
+    private void myself(HttpExchange exchange) throws IOException {
+        respond(exchange, 200, "{\"name\":\"load-test\",\"displayName\":\"Load Test\",\"active\":true}");
+    }
+
+    /**
+     * Indexes of the issues a JQL query matches, in result order
+     */
+    private int[] matching(String jql) {
+        int count = issueCount;
+        Matcher keyIn = KEY_IN.matcher(jql);
+        if (keyIn.find()) {
+            Matcher key = ISSUE_KEY.matcher(keyIn.group(1));
+            List<Integer> indexes = new ArrayList<>();
+            while (key.find()) {
+                int index = Integer.parseInt(key.group(1)) - 1;
+                if (index >= 0 && index < count) {
+                    indexes.add(index);
+                }
+            }
+            return indexes.stream().mapToInt(Integer::intValue).sorted().toArray();
+        }
+        if (jql.contains("updated >=")) {
+            return updated.stream().mapToInt(Integer::intValue).filter(index -> index < count).sorted().toArray();
+        }
+        return IntStream.range(0, count).toArray();
+    }
+
+    private void writeIssues(Writer writer, String template, int[] matches, int from, int to, boolean slim) throws IOException {
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                writer.write(',');
+            }
+            String key = PROJECT_KEY + "-" + (matches[i] + 1);
+            String id = String.valueOf(100000 + matches[i]);
+            if (slim) {
+                // Jira sends self with every issue, however few fields were asked for
+                writer.write("{\"id\":\"" + id + "\",\"key\":\"" + key + "\",\"self\":\"" + getUrl()
+                        + "/rest/api/2/issue/" + id + "\",\"fields\":{\"updated\":\"2024-03-01T10:15:30.000+0000\"}}");
+            } else {
+                writer.write(template.replace(KEY_PLACEHOLDER, key).replace(ID_PLACEHOLDER, id));
+            }
+        }
+        issuesServed.addAndGet(Math.max(0, to - from));
+    }
+
+    private int pageSize(int requested) {
+        return Math.max(0, Math.min(requested, maxPageSize));
+    }
+
+    private static boolean isKeyOnly(JsonArray requested) {
+        if (requested == null || requested.size() == 0) {
+            return false;
+        }
+        for (JsonElement field : requested) {
+            String name = field.getAsString().trim();
+            if (!name.isEmpty() && !name.equals("key") && !name.equals("updated")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String issueTemplate(JsonObject fixture) {
+        JsonObject issue = fixture.deepCopy();
+        issue.addProperty("id", ID_PLACEHOLDER);
+        issue.addProperty("key", KEY_PLACEHOLDER);
+        issue.addProperty("self", fixture.get("self").getAsString().replaceAll("/issue/\\d+$", "/issue/" + ID_PLACEHOLDER));
+        return GSON.toJson(issue);
+    }
+
+    private static String fieldList(JsonObject fixture) {
+        JsonArray result = new JsonArray();
+        for (String id : fixture.getAsJsonObject("fields").keySet()) {
+            JsonObject field = new JsonObject();
+            boolean custom = id.startsWith("customfield_");
+            field.addProperty("id", id);
+            field.addProperty("name", custom ? "Custom " + id.substring("customfield_".length()) : id);
+            field.addProperty("custom", custom);
+            JsonObject schema = new JsonObject();
+            schema.addProperty("type", "string");
+            field.add("schema", schema);
+            result.add(field);
+        }
+        return GSON.toJson(result);
+    }
+
+    private static String encodeToken(int offset) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(("offset:" + offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int decodeToken(String token) {
+        String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        if (!decoded.startsWith("offset:")) {
+            throw new IllegalArgumentException("Invalid nextPageToken: " + token);
+        }
+        return Integer.parseInt(decoded.substring("offset:".length()));
+    }
+
+    private static Map<String, String> queryParameters(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static Writer writer(HttpExchange exchange) {
+        return new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json;charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    public static class Builder {
+        private int port;
+        private int issueCount = 1000;
+        private int maxPageSize = 100;
+        private long latencyMillis;
+        private int throttleEvery;
+        private int retryAfterSeconds = 1;
+        private int threads = 32;
+
+        /**
+         * Port to bind, 0 for any free port
+         */
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        /**
+         * Number of issues every search matches
+         */
+        public Builder issues(int issueCount) {
+            this.issueCount = issueCount;
+            return this;
+        }
+
+        /**
+         * Largest page the server hands out, whatever maxResults the client asks for
+         */
+        public Builder maxPageSize(int maxPageSize) {
+            this.maxPageSize = maxPageSize;
+            return this;
+        }
+
+        /**
+         * Fixed delay added before every response
+         */
+        public Builder latency(long latencyMillis) {
+            this.latencyMillis = latencyMillis;
+            return this;
+        }
+
+        /**
+         * Answer every n-th request with 429 and Retry-After, 0 to disable
+         */
+        public Builder throttleEvery(int throttleEvery, int retryAfterSeconds) {
+            this.throttleEvery = throttleEvery;
+            this.retryAfterSeconds = retryAfterSeconds;
+            return this;
+        }
+
+        public Builder threads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        public MockJiraServer start() throws IOException {
+            return new MockJiraServer(this);
+        }
+    }
+
+    /**
+     * Run the mock on its own, e.g. to point the application at it
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        MockJiraServer mock = builder()
+                .port(Integer.parseInt(options.getOrDefault("port", "8089")))
+                .issues(Integer.parseInt(options.getOrDefault("issues", "1000")))
+                .maxPageSize(Integer.parseInt(options.getOrDefault("max-page-size", "100")))
+                .latency(Long.parseLong(options.getOrDefault("latency", "0")))
+                .throttleEvery(Integer.parseInt(options.getOrDefault("throttle-every", "0")),
+                        Integer.parseInt(options.getOrDefault("retry-after", "1")))
+                .start();
+        System.out.println("Mock Jira listening on " + mock.getUrl() + " (" + mock.getIssueCount() + " issues)");
+        Runtime.getRuntime().addShutdownHook(new Thread(mock::close));
+        Thread.currentThread().join();
+    }
+
+    /**
+     * Parse --name value pairs; a flag without a value maps to "true"
+     */
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            String name = args[i].substring(2);
+            if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                options.put(name, args[++i]);
+            } else {
+                options.put(name, "true");
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,89 @@
+package com.jira.explorer.perf;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
+import com.jira.explorer.model.JiraConfig;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Builds search responses of any size from the recorded issue fixtures
+ * issue-v2.json is a Server 9.12 issue fetched with fields=*all, issue-v3.json the same issue
+ * from Cloud with ADF description and comments; both carry ~40 custom fields.
+ */
+public final class SearchResponseFixtures {
+    private static final Gson GSON = new Gson();
+
+    private SearchResponseFixtures() {
+    }
+
+    /**
+     * The recorded issue for the given API version
+     */
+    public static JsonObject issue(JiraConfig.ApiVersion apiVersion) {
+        String name = apiVersion == JiraConfig.ApiVersion.CLOUD_CURRENT ? "issue-v3.json" : "issue-v2.json";
+        try (InputStream input = SearchResponseFixtures.class.getResourceAsStream("/fixtures/" + name)) {
+            if (input == null) {
+                throw new IllegalStateException("Missing fixture " + name);
+            }
+            return JsonParser.parseReader(new InputStreamReader(input, StandardCharsets.UTF_8)).getAsJsonObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Issue i of a generated result set: the recorded issue with its own key and id
+     */
+    public static JsonObject issue(JsonObject template, String projectKey, int index) {
+        JsonObject issue = template.deepCopy();
+        issue.addProperty("id", String.valueOf(100000 + index));
+        issue.addProperty("key", projectKey + "-" + (index + 1));
+        issue.addProperty("self", template.get("self").getAsString().replaceAll("/issue/\\d+$", "/issue/" + (100000 + index)));
+        return issue;
+    }
+
+    /**
+     * A complete search response body in the shape of the given API version
+     */
+    public static byte[] searchResponse(JiraConfig.ApiVersion apiVersion, int issueCount) {
+        JsonObject template = issue(apiVersion);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(issueCount * 16 * 1024);
+        try (JsonWriter writer = new JsonWriter(new OutputStreamWriter(bytes, StandardCharsets.UTF_8))) {
+            writer.beginObject();
+            if (apiVersion == JiraConfig.ApiVersion.SERVER_9_12_24) {
+                writer.name("expand").value("names,schema");
+                writer.name("startAt").value(0);
+                writer.name("maxResults").value(issueCount);
+                writer.name("total").value(issueCount);
+            }
+            writer.name("issues").beginArray();
+            for (int i = 0; i < issueCount; i++) {
+                GSON.toJson(issue(template, "SHOP", i), writer);
+            }
+            writer.endArray();
+            if (apiVersion == JiraConfig.ApiVersion.SERVER_9_12_24) {
+                // names/schema expansion, skipped by the parser but still on the wire
+                writer.name("names").beginObject();
+                for (String field : template.getAsJsonObject("fields").keySet()) {
+                    writer.name(field).value("Field " + field);
+                }
+                writer.endObject();
+            } else {
+                writer.name("isLast").value(true);
+            }
+            writer.endObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,82 @@
+package com.jira.explorer.service;
+
+import com.jira.explorer.model.JiraConfig;
+import com.jira.explorer.model.JiraIssue;
+import com.jira.explorer.perf.MockJiraServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Overlapping queries against the mock Jira, whose union spans several "key in" chunks
+ */
+class BatchQueryExecutorTest {
+    private MockJiraServer mock;
+    private JiraApiClient client;
+
+    @BeforeEach
+    void startMock() throws Exception {
+        mock = MockJiraServer.builder().issues(300).maxPageSize(50).threads(8).start();
+    }
+
+    @AfterEach
+    void stopMock() {
+        if (client != null) {
+            client.close();
+        }
+        mock.close();
+    }
+
+    @ParameterizedTest
+    @EnumSource(JiraConfig.ApiVersion.class)
+    void downloadsSharedIssuesOnceAndKeepsEachQueryOrder(JiraConfig.ApiVersion apiVersion) throws Exception {
+        client = new JiraApiClient(config(apiVersion));
+        Map<String, String> queries = new LinkedHashMap<>();
+        queries.put("first", Jql.keyIn(keys(1, 150)));
+        queries.put("second", Jql.keyIn(keys(100, 250)));
+        queries.put("none", Jql.keyIn(List.of("OTHER-1")));
+
+        BatchQueryExecutor.Result result = new BatchQueryExecutor(client).execute(queries);
+
+        assertEquals(keys(1, 150), keys(result.getIssues("first")));
+        assertEquals(keys(100, 250), keys(result.getIssues("second")));
+        assertEquals(List.of(), result.getIssues("none"));
+        assertEquals(150 + 151, result.getReferences());
+        assertEquals(250, result.getDistinct());
+        // Slim issues for both key passes, then every distinct issue once, over three key chunks
+        assertEquals(150 + 151 + 250, mock.getIssuesServed());
+    }
+
+    private JiraConfig config(JiraConfig.ApiVersion apiVersion) {
+        JiraConfig config = new JiraConfig(mock.getUrl(), "test", "token");
+        config.setApiVersion(apiVersion);
+        config.setRateLimitPerSecond(1000);
+        config.setRateLimitBurst(100);
+        config.setCacheEnabled(false);
+        return config;
+    }
+
+    private static List<String> keys(int from, int to) {
+        List<String> keys = new ArrayList<>();
+        for (int number = from; number <= to; number++) {
+            keys.add(MockJiraServer.issueKey(number));
+        }
+        return keys;
+    }
+
+    private static List<String> keys(List<JiraIssue> issues) {
+        List<String> keys = new ArrayList<>(issues.size());
+        for (JiraIssue issue : issues) {
+            keys.add(issue.getKey());
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,52 @@
+package com.jira.explorer.service;
+
+import com.jira.explorer.model.JiraConfig;
+import com.jira.explorer.perf.MockJiraServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Count-only queries against the mock Jira, which counts every query as its whole result set
+ */
+class CountByValuesTest {
+    private MockJiraServer mock;
+    private JiraApiClient client;
+
+    @BeforeEach
+    void startMock() throws Exception {
+        mock = MockJiraServer.builder().issues(42).threads(8).start();
+    }
+
+    @AfterEach
+    void stopMock() {
+        if (client != null) {
+            client.close();
+        }
+        mock.close();
+    }
+
+    @ParameterizedTest
+    @EnumSource(JiraConfig.ApiVersion.class)
+    void emptyValuesAndDuplicatesAreCountedOnce(JiraConfig.ApiVersion apiVersion) throws Exception {
+        JiraConfig config = new JiraConfig(mock.getUrl(), "test", "token");
+        config.setApiVersion(apiVersion);
+        config.setCacheEnabled(false);
+        client = new JiraApiClient(config);
+
+        Map<String, Long> counts = client.countByValues("project = LOAD", "Story Points",
+                Arrays.asList(null, "Done", "", "Done"));
+
+        assertEquals(List.of("", "Done"), List.copyOf(counts.keySet()));
+        assertEquals(42L, counts.get(""));
+        assertEquals(42L, counts.get("Done"));
+        assertEquals(2, mock.getRequests());
+    }
+}
@@ -0,0 +1,91 @@
+package com.jira.explorer.service;
+
+import com.jira.explorer.model.JiraConfig;
+import com.jira.explorer.model.JiraIssue;
+import com.jira.explorer.model.SearchQuery;
+import com.jira.explorer.perf.MockJiraServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Delta syncs against the on-disk issue cache, run twice or more against the mock Jira
+ */
+class IssueSyncTest {
+    @TempDir
+    Path cacheDir;
+
+    private MockJiraServer mock;
+    private JiraApiClient client;
+
+    @BeforeEach
+    void startMock() throws Exception {
+        mock = MockJiraServer.builder().issues(120).maxPageSize(50).threads(8).start();
+    }
+
+    @AfterEach
+    void stopMock() {
+        if (client != null) {
+            client.close();
+        }
+        mock.close();
+    }
+
+    @ParameterizedTest
+    @EnumSource(JiraConfig.ApiVersion.class)
+    void picksUpIssuesThatMatchWithoutAnUpdate(JiraConfig.ApiVersion apiVersion) throws Exception {
+        client = new JiraApiClient(config(apiVersion));
+        SearchQuery query = client.query("project = LOAD ORDER BY key");
+        assertEquals(SearchPagerTest.expectedKeys(120), keys(client.syncIssues(query)));
+
+        // Ten issues start matching without their updated date moving
+        mock.setIssueCount(130);
+        long served = mock.getIssuesServed();
+        assertEquals(SearchPagerTest.expectedKeys(130), keys(client.syncIssues(query)));
+        // Key pass, an empty delta, then only the ten new issues by key
+        assertEquals(130 + 10, mock.getIssuesServed() - served);
+    }
+
+    @ParameterizedTest
+    @EnumSource(JiraConfig.ApiVersion.class)
+    void mergesUpdatesAndDropsIssuesThatNoLongerMatch(JiraConfig.ApiVersion apiVersion) throws Exception {
+        client = new JiraApiClient(config(apiVersion));
+        SearchQuery query = client.query("project = LOAD ORDER BY key");
+        client.syncIssues(query);
+
+        mock.markUpdated(3, 60, 110);
+        mock.setIssueCount(100);
+        long served = mock.getIssuesServed();
+        assertEquals(SearchPagerTest.expectedKeys(100), keys(client.syncIssues(query)));
+        // Key pass plus the two updated issues still matching, nothing downloaded in full again
+        assertEquals(100 + 2, mock.getIssuesServed() - served);
+
+        // The merged result was saved, a third sync starts from it
+        assertEquals(SearchPagerTest.expectedKeys(100), keys(client.syncIssues(query)));
+    }
+
+    private JiraConfig config(JiraConfig.ApiVersion apiVersion) {
+        JiraConfig config = new JiraConfig(mock.getUrl(), "test", "token");
+        config.setApiVersion(apiVersion);
+        config.setRateLimitPerSecond(1000);
+        config.setRateLimitBurst(100);
+        config.setCacheDir(cacheDir.toString());
+        return config;
+    }
+
+    private static List<String> keys(List<JiraIssue> issues) {
+        List<String> keys = new ArrayList<>(issues.size());
+        for (JiraIssue issue : issues) {
+            keys.add(issue.getKey());
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,34 @@
+package com.jira.explorer.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JqlTest {
+    @Test
+    void fieldIdsStayUnquoted() {
+        assertEquals("status", Jql.field("status"));
+        assertEquals("customfield_10010", Jql.field("customfield_10010"));
+        assertEquals("cf[10010]", Jql.field("cf[10010]"));
+    }
+
+    @Test
+    void displayNamesAreQuoted() {
+        assertEquals("\"Story Points\"", Jql.field("Story Points"));
+        assertEquals("\"Epic \\\"Link\\\"\"", Jql.field("Epic \"Link\""));
+    }
+
+    @Test
+    void conditionsGoBeforeOrderBy() {
+        assertEquals("(project = A) AND status = Done ORDER BY key",
+                Jql.and("project = A ORDER BY key", "status = Done"));
+        assertEquals("status = Done", Jql.and("", "status = Done"));
+    }
+
+    @Test
+    void keyInQuotesEveryKey() {
+        assertEquals("key in (\"A-1\",\"A-2\")", Jql.keyIn(List.of("A-1", "A-2")));
+    }
+}
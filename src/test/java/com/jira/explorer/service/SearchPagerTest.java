@@ -0,0 +1,77 @@
+package com.jira.explorer.service;
+
+import com.jira.explorer.model.JiraConfig;
+import com.jira.explorer.model.JiraIssue;
+import com.jira.explorer.model.SearchPage;
+import com.jira.explorer.perf.MockJiraServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Paging against the mock Jira: every issue once, in result order, whatever the fan-out
+ */
+class SearchPagerTest {
+    private static final int ISSUES = 230;
+
+    private MockJiraServer mock;
+    private JiraApiClient client;
+
+    @BeforeEach
+    void startMock() throws Exception {
+        // A small page cap and some latency so parallel Server pages can complete out of order
+        mock = MockJiraServer.builder().issues(ISSUES).maxPageSize(25).latency(5).threads(8).start();
+    }
+
+    @AfterEach
+    void stopMock() {
+        if (client != null) {
+            client.close();
+        }
+        mock.close();
+    }
+
+    @ParameterizedTest
+    @EnumSource(JiraConfig.ApiVersion.class)
+    void pagesComeBackInOrder(JiraConfig.ApiVersion apiVersion) throws Exception {
+        client = new JiraApiClient(config(apiVersion));
+        List<String> keys = new ArrayList<>();
+        int pages = 0;
+        try (SearchPager pager = client.pages(client.query("project = LOAD ORDER BY key"), 25)) {
+            while (pager.hasNext()) {
+                SearchPage page = pager.next();
+                pages++;
+                for (JiraIssue issue : page.getIssues()) {
+                    keys.add(issue.getKey());
+                }
+            }
+        }
+
+        assertEquals(expectedKeys(ISSUES), keys);
+        assertEquals((ISSUES + 24) / 25, pages);
+    }
+
+    private JiraConfig config(JiraConfig.ApiVersion apiVersion) {
+        JiraConfig config = new JiraConfig(mock.getUrl(), "test", "token");
+        config.setApiVersion(apiVersion);
+        config.setSearchConcurrency(4);
+        config.setRateLimitPerSecond(1000);
+        config.setRateLimitBurst(100);
+        config.setCacheEnabled(false);
+        return config;
+    }
+
+    static List<String> expectedKeys(int count) {
+        List<String> keys = new ArrayList<>(count);
+        for (int number = 1; number <= count; number++) {
+            keys.add(MockJiraServer.issueKey(number));
+        }
+        return keys;
+    }
+}
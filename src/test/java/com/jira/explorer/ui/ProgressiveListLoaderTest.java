@@ -0,0 +1,76 @@
+package com.jira.explorer.ui;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Drains pulse by pulse, calling drain() directly so no FX toolkit is needed
+ */
+class ProgressiveListLoaderTest {
+    @Test
+    void drainsAtMostOneBatchPerPulse() {
+        ObservableList<Integer> list = FXCollections.observableArrayList();
+        AtomicInteger changes = new AtomicInteger();
+        list.addListener((ListChangeListener<Integer>) change -> changes.incrementAndGet());
+        AtomicInteger progress = new AtomicInteger();
+        ProgressiveListLoader<Integer> loader = new ProgressiveListLoader<>(list, 2, progress::incrementAndGet);
+
+        loader.offer(List.of(1, 2, 3, 4, 5));
+        loader.drain();
+        assertEquals(List.of(1, 2), list);
+        loader.drain();
+        loader.drain();
+        loader.drain();
+
+        assertEquals(List.of(1, 2, 3, 4, 5), list);
+        assertEquals(5, loader.getLoaded());
+        assertEquals(3, changes.get());
+        assertEquals(3, progress.get());
+    }
+
+    @Test
+    void onDrainedWaitsForThePendingItems() {
+        ObservableList<Integer> list = FXCollections.observableArrayList();
+        ProgressiveListLoader<Integer> loader = new ProgressiveListLoader<>(list, 2, () -> { });
+        AtomicInteger drained = new AtomicInteger();
+
+        loader.offer(List.of(1, 2, 3));
+        loader.onDrained(drained::incrementAndGet);
+        loader.drain();
+        assertEquals(0, drained.get());
+        loader.drain();
+        assertEquals(1, drained.get());
+        assertEquals(List.of(1, 2, 3), list);
+
+        // Nothing pending: right away, and only once
+        loader.onDrained(drained::incrementAndGet);
+        loader.drain();
+        assertEquals(2, drained.get());
+    }
+
+    @Test
+    void stopDropsPendingItemsAndLaterOffers() {
+        ObservableList<Integer> list = FXCollections.observableArrayList();
+        ProgressiveListLoader<Integer> loader = new ProgressiveListLoader<>(list, 2, () -> { });
+        AtomicInteger drained = new AtomicInteger();
+
+        loader.offer(List.of(1, 2, 3));
+        loader.drain();
+        loader.onDrained(drained::incrementAndGet);
+        loader.stop();
+        loader.offer(List.of(4));
+        loader.drain();
+
+        assertEquals(List.of(1, 2), list);
+        assertFalse(loader.hasPending());
+        assertEquals(0, drained.get());
+    }
+}